@@ -0,0 +1,137 @@
+package dev.analyzer.bench;
+
+import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.ScanOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+// Scanning an uploaded project zip in place against the old upload flow of extracting it to a
+// temporary directory first and scanning that
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ArchiveScanBenchmark {
+
+    @Param({"1000", "10000"})
+    public int files;
+
+    @Param({"1", "0"})
+    public int threads;
+
+    private Path archive;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Path corpus = CorpusGenerator.cached(files, new CorpusGenerator.Mix(), 42);
+        archive = corpus.resolveSibling(corpus.getFileName() + ".zip");
+        if (!Files.exists(archive)) {
+            zip(corpus, archive);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void quiet() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void restore() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public ProjectScanner scanArchive() throws Exception {
+        ProjectScanner scanner = new ProjectScanner(options());
+        scanner.scan(archive);
+        return scanner;
+    }
+
+    @Benchmark
+    public ProjectScanner extractThenScan() throws Exception {
+        Path dir = Files.createTempDirectory("sba-extract");
+        try {
+            unzip(archive, dir);
+            ProjectScanner scanner = new ProjectScanner(options());
+            scanner.scan(dir);
+            return scanner;
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private ScanOptions options() {
+        ScanOptions options = new ScanOptions();
+        options.threads = threads;
+        return options;
+    }
+
+    private static void zip(Path dir, Path target) throws IOException {
+        List<Path> sources;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            sources = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(temp))) {
+            for (Path source : sources) {
+                out.putNextEntry(new ZipEntry("project/" + dir.relativize(source).toString().replace('\\', '/')));
+                Files.copy(source, out);
+                out.closeEntry();
+            }
+        }
+        Files.move(temp, target);
+    }
+
+    private static void unzip(Path archive, Path dir) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(archive))) {
+            for (ZipEntry entry; (entry = in.getNextEntry()) != null; ) {
+                Path target = dir.resolve(entry.getName()).normalize();
+                if (!target.startsWith(dir)) throw new IOException("Bad zip entry: " + entry.getName());
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.copy((InputStream) in, target);
+                }
+            }
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+}
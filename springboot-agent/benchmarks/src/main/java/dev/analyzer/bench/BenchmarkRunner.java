@@ -0,0 +1,32 @@
+package dev.analyzer.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Entry point of the benchmarks jar:
+//   java -jar target/benchmarks.jar [jmh options]           runs JMH, results in jmh-result.json
+//   java -jar target/benchmarks.jar generate <dir> <files>  writes a synthetic corpus
+//   java -jar target/benchmarks.jar compare <base.json> <head.json> [thresholdPercent]
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("generate")) {
+            CorpusGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("compare")) {
+            CompareResults.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // Machine-readable results by default so runs can be compared later
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.addAll(0, List.of("-rf", "json"));
+            if (!jmhArgs.contains("-rff")) {
+                jmhArgs.addAll(2, List.of("-rff", "jmh-result.json"));
+            }
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,99 @@
+package dev.analyzer.bench;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH JSON result files benchmark by benchmark, including gc.alloc.rate.norm when
+// both runs used -prof gc. Exits with 2 when any score regressed by more than the threshold
+public class CompareResults {
+
+    private static final String ALLOC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: compare <base.json> <head.json> [thresholdPercent]");
+            System.exit(1);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+        Map<String, JsonObject> base = load(Path.of(args[0]));
+        Map<String, JsonObject> head = load(Path.of(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Base", "Head", "Change");
+        for (Map.Entry<String, JsonObject> entry : head.entrySet()) {
+            JsonObject before = base.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14s %9s%n", entry.getKey(), "-", score(entry.getValue()), "new");
+                continue;
+            }
+            regressed |= row(entry.getKey(), before, entry.getValue(), threshold);
+
+            JsonObject allocBefore = secondary(before, ALLOC);
+            JsonObject allocAfter = secondary(entry.getValue(), ALLOC);
+            if (allocBefore != null && allocAfter != null) {
+                regressed |= row(entry.getKey() + " [alloc B/op]", allocBefore, allocAfter, threshold, false);
+            }
+        }
+
+        if (regressed) {
+            System.out.println("Regressions above " + threshold + "% found");
+            System.exit(2);
+        }
+    }
+
+    private static boolean row(String name, JsonObject before, JsonObject after, double threshold) {
+        // Throughput improves upwards, every time-per-operation mode downwards
+        boolean higherIsBetter = "thrpt".equals(after.get("mode").getAsString());
+        return row(name, before.getAsJsonObject("primaryMetric"), after.getAsJsonObject("primaryMetric"),
+                threshold, higherIsBetter);
+    }
+
+    private static boolean row(String name, JsonObject before, JsonObject after, double threshold, boolean higherIsBetter) {
+        double a = before.get("score").getAsDouble();
+        double b = after.get("score").getAsDouble();
+        double change = a == 0 ? 0 : (b - a) / a * 100;
+        boolean regression = higherIsBetter ? change < -threshold : change > threshold;
+        System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", name, a, b, change, regression ? " !" : "");
+        return regression;
+    }
+
+    private static String score(JsonObject result) {
+        return String.format("%.3f", result.getAsJsonObject("primaryMetric").get("score").getAsDouble());
+    }
+
+    private static JsonObject secondary(JsonObject result, String name) {
+        JsonObject secondary = result.getAsJsonObject("secondaryMetrics");
+        return secondary != null && secondary.has(name) ? secondary.getAsJsonObject(name) : null;
+    }
+
+    // Keyed by benchmark name plus its parameters, e.g. "ScanBenchmark.scan{files=1000, threads=1}"
+    private static Map<String, JsonObject> load(Path file) throws IOException {
+        Map<String, JsonObject> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonArray array = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject result = element.getAsJsonObject();
+                String name = result.get("benchmark").getAsString();
+                name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+                Map<String, String> params = new TreeMap<>();
+                if (result.has("params")) {
+                    for (Map.Entry<String, JsonElement> param : result.getAsJsonObject("params").entrySet()) {
+                        params.put(param.getKey(), param.getValue().getAsString());
+                    }
+                }
+                results.put(params.isEmpty() ? name : name + params, result);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,341 @@
+package dev.analyzer.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic Spring Boot project: the same (files, mix, seed) always produces
+// byte-identical sources, so results from different runs and machines are comparable
+public class CorpusGenerator {
+
+    public enum Kind { CONTROLLER, SERVICE, REPOSITORY, ENTITY, PLAIN }
+
+    private static final int FILES_PER_PACKAGE = 50;
+    private static final String BASE_PACKAGE = "com.bench";
+    private static final String MARKER = ".corpus";
+
+    private static final String[] FIELD_TYPES = {"String", "Long", "Integer", "Boolean", "LocalDate", "BigDecimal"};
+    private static final String[] VERBS = {"find", "create", "update", "delete", "list", "search", "count", "archive"};
+    private static final String[] HTTP = {"Get", "Post", "Put", "Delete", "Patch"};
+
+    // Percentages of each kind of file; PLAIN files carry no stereotype (DTOs and utilities)
+    public static class Mix {
+        public int controllers = 10;
+        public int services = 15;
+        public int repositories = 10;
+        public int entities = 15;
+        public int plain = 50;
+
+        // "c=10,s=15,r=10,e=15,p=50"; kinds that are left out keep their default weight
+        public static Mix parse(String spec) {
+            Mix mix = new Mix();
+            if (spec == null || spec.isEmpty()) return mix;
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split("=");
+                int weight = Integer.parseInt(kv[1].trim());
+                switch (kv[0].trim()) {
+                    case "c": mix.controllers = weight; break;
+                    case "s": mix.services = weight; break;
+                    case "r": mix.repositories = weight; break;
+                    case "e": mix.entities = weight; break;
+                    case "p": mix.plain = weight; break;
+                    default: throw new IllegalArgumentException("Unknown mix key: " + kv[0]);
+                }
+            }
+            return mix;
+        }
+
+        int total() {
+            return controllers + services + repositories + entities + plain;
+        }
+
+        @Override
+        public String toString() {
+            return "c=" + controllers + ",s=" + services + ",r=" + repositories + ",e=" + entities + ",p=" + plain;
+        }
+    }
+
+    private final long seed;
+    private final Mix mix;
+
+    public CorpusGenerator(long seed, Mix mix) {
+        this.seed = seed;
+        this.mix = mix;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: generate <outputDir> <files> [mix c=10,s=15,r=10,e=15,p=50] [seed]");
+            System.exit(1);
+        }
+        Mix mix = Mix.parse(args.length > 2 ? args[2] : null);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        Path root = new CorpusGenerator(seed, mix).generate(Path.of(args[0]), Integer.parseInt(args[1]));
+        System.out.println("Generated " + args[1] + " files (" + mix + ", seed " + seed + ") in " + root);
+    }
+
+    // Reuses a previously generated corpus under java.io.tmpdir when its parameters match
+    public static Path cached(int files, Mix mix, long seed) throws IOException {
+        Path root = Path.of(System.getProperty("java.io.tmpdir"),
+                "sba-corpus-" + files + "-" + mix.toString().replace(',', '_').replace("=", "") + "-" + seed);
+        Path marker = root.resolve(MARKER);
+        String expected = files + " " + mix + " " + seed;
+        if (Files.exists(marker) && Files.readString(marker).equals(expected)) {
+            return root;
+        }
+        return new CorpusGenerator(seed, mix).generate(root, files);
+    }
+
+    public Path generate(Path root, int files) throws IOException {
+        Kind[] kinds = plan(files);
+        Path sourceRoot = root.resolve("src/main/java");
+        for (int i = 0; i < files; i++) {
+            Path dir = sourceRoot.resolve(packageOf(i).replace('.', '/'));
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve(className(kinds[i], i) + ".java"), source(kinds, i), StandardCharsets.UTF_8);
+        }
+        Files.writeString(root.resolve(MARKER), files + " " + mix + " " + seed);
+        return root;
+    }
+
+    // In-memory sources of one kind, for benchmarks that should not touch the disk
+    public List<String> sources(Kind kind, int count) {
+        Kind[] kinds = plan(count * 10);
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < kinds.length && sources.size() < count; i++) {
+            if (kinds[i] == kind) {
+                sources.add(source(kinds, i));
+            }
+        }
+        return sources;
+    }
+
+    public Kind[] plan(int files) {
+        Random random = new Random(seed);
+        Kind[] kinds = new Kind[files];
+        int total = Math.max(1, mix.total());
+        for (int i = 0; i < files; i++) {
+            int r = random.nextInt(total);
+            if ((r -= mix.controllers) < 0) kinds[i] = Kind.CONTROLLER;
+            else if ((r -= mix.services) < 0) kinds[i] = Kind.SERVICE;
+            else if ((r -= mix.repositories) < 0) kinds[i] = Kind.REPOSITORY;
+            else if ((r -= mix.entities) < 0) kinds[i] = Kind.ENTITY;
+            else kinds[i] = Kind.PLAIN;
+        }
+        return kinds;
+    }
+
+    public String source(Kind[] kinds, int i) {
+        // Each file gets its own stream so a file's content does not depend on generation order
+        Random random = new Random(seed * 31 + i);
+        switch (kinds[i]) {
+            case CONTROLLER: return controller(kinds, i, random);
+            case SERVICE: return service(kinds, i, random);
+            case REPOSITORY: return repository(kinds, i, random);
+            case ENTITY: return entity(kinds, i, random);
+            default: return plain(i, random);
+        }
+    }
+
+    private String controller(Kind[] kinds, int i, Random random) {
+        StringBuilder sb = header(i);
+        List<Integer> services = pick(kinds, Kind.SERVICE, i, random, 1 + random.nextInt(2));
+        sb.append("import org.springframework.web.bind.annotation.*;\n");
+        sb.append("import org.springframework.http.ResponseEntity;\n");
+        sb.append("import java.util.ArrayList;\nimport java.util.List;\n");
+        imports(sb, kinds, services);
+        sb.append("\n/**\n * REST endpoints for resource ").append(i).append(".\n */\n");
+        sb.append("@RestController\n@RequestMapping(\"/api/v1/r").append(i).append("\")\n");
+        sb.append("public class ").append(className(Kind.CONTROLLER, i)).append(" {\n\n");
+        for (int s : services) {
+            sb.append("    @Autowired\n    private ").append(className(Kind.SERVICE, s)).append(' ')
+                    .append(field(Kind.SERVICE, s)).append(";\n\n");
+        }
+        int endpoints = 3 + random.nextInt(6);
+        for (int e = 0; e < endpoints; e++) {
+            String http = HTTP[random.nextInt(HTTP.length)];
+            boolean withId = random.nextBoolean();
+            String path = (withId ? "/{id}" : "") + (random.nextInt(3) == 0 ? "/items" + e : "");
+            sb.append("    @").append(http).append("Mapping");
+            if (!path.isEmpty()) sb.append("(\"").append(path).append("\")");
+            sb.append("\n    public ResponseEntity<List<String>> ").append(VERBS[e % VERBS.length]).append(e).append('(');
+            List<String> params = new ArrayList<>();
+            if (withId) params.add("@PathVariable Long id");
+            if (http.equals("Post") || http.equals("Put")) params.add("@RequestBody String body");
+            if (random.nextBoolean()) params.add("@RequestParam(defaultValue = \"0\") int page");
+            sb.append(String.join(", ", params)).append(") {\n");
+            body(sb, random, services.isEmpty() ? null : field(Kind.SERVICE, services.get(0)));
+            sb.append("        return ResponseEntity.ok(result);\n    }\n\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String service(Kind[] kinds, int i, Random random) {
+        StringBuilder sb = header(i);
+        List<Integer> repositories = pick(kinds, Kind.REPOSITORY, i, random, 1 + random.nextInt(3));
+        sb.append("import org.springframework.stereotype.Service;\n");
+        sb.append("import org.springframework.transaction.annotation.Transactional;\n");
+        sb.append("import java.util.ArrayList;\nimport java.util.List;\n");
+        imports(sb, kinds, repositories);
+        sb.append("\n@Service\npublic class ").append(className(Kind.SERVICE, i)).append(" {\n\n");
+        for (int r : repositories) {
+            sb.append("    private final ").append(className(Kind.REPOSITORY, r)).append(' ')
+                    .append(field(Kind.REPOSITORY, r)).append(";\n");
+        }
+        // Constructor injection
+        sb.append("\n    public ").append(className(Kind.SERVICE, i)).append('(');
+        for (int k = 0; k < repositories.size(); k++) {
+            if (k > 0) sb.append(", ");
+            sb.append(className(Kind.REPOSITORY, repositories.get(k))).append(' ').append(field(Kind.REPOSITORY, repositories.get(k)));
+        }
+        sb.append(") {\n");
+        for (int r : repositories) {
+            sb.append("        this.").append(field(Kind.REPOSITORY, r)).append(" = ").append(field(Kind.REPOSITORY, r)).append(";\n");
+        }
+        sb.append("    }\n\n");
+        int methods = 4 + random.nextInt(8);
+        for (int m = 0; m < methods; m++) {
+            if (random.nextInt(3) == 0) sb.append("    @Transactional\n");
+            sb.append("    public List<String> ").append(VERBS[m % VERBS.length]).append("Items").append(m)
+                    .append("(Long id, String filter) {\n");
+            body(sb, random, repositories.isEmpty() ? null : field(Kind.REPOSITORY, repositories.get(0)));
+            sb.append("        return result;\n    }\n\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String repository(Kind[] kinds, int i, Random random) {
+        StringBuilder sb = header(i);
+        List<Integer> entities = pick(kinds, Kind.ENTITY, i, random, 1);
+        String entity = entities.isEmpty() ? "Object" : className(Kind.ENTITY, entities.get(0));
+        sb.append("import org.springframework.data.jpa.repository.JpaRepository;\n");
+        sb.append("import org.springframework.data.jpa.repository.Query;\n");
+        sb.append("import java.util.List;\nimport java.util.Optional;\n");
+        imports(sb, kinds, entities);
+        sb.append("\npublic interface ").append(className(Kind.REPOSITORY, i))
+                .append(" extends JpaRepository<").append(entity).append(", Long> {\n\n");
+        int methods = 1 + random.nextInt(5);
+        for (int m = 0; m < methods; m++) {
+            if (random.nextInt(4) == 0) {
+                sb.append("    @Query(\"select e from ").append(entity).append(" e where e.field").append(m).append(" = ?1\")\n");
+            }
+            sb.append("    ").append(m % 2 == 0 ? "List<" + entity + ">" : "Optional<" + entity + ">")
+                    .append(" findByField").append(m).append("(String value);\n\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String entity(Kind[] kinds, int i, Random random) {
+        StringBuilder sb = header(i);
+        List<Integer> related = pick(kinds, Kind.ENTITY, i, random, random.nextInt(3));
+        sb.append("import jakarta.persistence.*;\n");
+        sb.append("import java.math.BigDecimal;\nimport java.time.LocalDate;\nimport java.util.List;\n");
+        imports(sb, kinds, related);
+        sb.append("\n@Entity\n@Table(name = \"t_").append(i).append("\")\n");
+        sb.append("public class ").append(className(Kind.ENTITY, i)).append(" {\n\n");
+        sb.append("    @Id\n    @GeneratedValue(strategy = GenerationType.IDENTITY)\n    private Long id;\n\n");
+        int fields = 4 + random.nextInt(12);
+        for (int f = 0; f < fields; f++) {
+            if (random.nextBoolean()) sb.append("    @Column(name = \"field_").append(f).append("\", nullable = false)\n");
+            sb.append("    private ").append(FIELD_TYPES[random.nextInt(FIELD_TYPES.length)]).append(" field").append(f).append(";\n\n");
+        }
+        for (int r : related) {
+            boolean many = random.nextBoolean();
+            sb.append(many ? "    @OneToMany(mappedBy = \"owner\")\n    private List<" : "    @ManyToOne\n    private ")
+                    .append(className(Kind.ENTITY, r)).append(many ? "> " : " ").append(field(Kind.ENTITY, r))
+                    .append(many ? "s" : "").append(";\n\n");
+        }
+        sb.append("    public Long getId() {\n        return id;\n    }\n\n");
+        sb.append("    public void setId(Long id) {\n        this.id = id;\n    }\n");
+        return sb.append("}\n").toString();
+    }
+
+    private String plain(int i, Random random) {
+        StringBuilder sb = header(i);
+        sb.append("import java.util.Objects;\n\n");
+        sb.append("// Data transfer object; carries no Spring stereotype\n");
+        sb.append("public class ").append(className(Kind.PLAIN, i)).append(" {\n\n");
+        int fields = 3 + random.nextInt(10);
+        for (int f = 0; f < fields; f++) {
+            sb.append("    private String value").append(f).append(";\n");
+        }
+        for (int f = 0; f < fields; f++) {
+            sb.append("\n    public String getValue").append(f).append("() {\n        return value").append(f).append(";\n    }\n");
+            sb.append("\n    public void setValue").append(f).append("(String value) {\n        this.value").append(f)
+                    .append(" = Objects.requireNonNull(value);\n    }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    // A method body with the usual statement mix, so parse cost resembles real code
+    private static void body(StringBuilder sb, Random random, String dependency) {
+        sb.append("        List<String> result = new ArrayList<>();\n");
+        int statements = 2 + random.nextInt(6);
+        for (int s = 0; s < statements; s++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    sb.append("        for (int i = 0; i < ").append(1 + random.nextInt(20)).append("; i++) {\n")
+                            .append("            result.add(\"item-\" + i);\n        }\n");
+                    break;
+                case 1:
+                    sb.append("        if (result.size() > ").append(random.nextInt(10)).append(") {\n")
+                            .append("            result.removeIf(v -> v.isEmpty());\n        }\n");
+                    break;
+                case 2:
+                    if (dependency != null) {
+                        sb.append("        result.add(String.valueOf(").append(dependency).append(".hashCode()));\n");
+                    }
+                    break;
+                default:
+                    sb.append("        // keep results sorted for stable responses\n")
+                            .append("        result.sort(String::compareTo);\n");
+            }
+        }
+    }
+
+    private static StringBuilder header(int i) {
+        return new StringBuilder("package ").append(packageOf(i)).append(";\n\n")
+                .append("import org.springframework.beans.factory.annotation.Autowired;\n");
+    }
+
+    private static void imports(StringBuilder sb, Kind[] kinds, List<Integer> indexes) {
+        for (int index : indexes) {
+            sb.append("import ").append(packageOf(index)).append('.').append(className(kinds[index], index)).append(";\n");
+        }
+    }
+
+    // Up to count earlier files of the given kind, so references always point at generated classes
+    private static List<Integer> pick(Kind[] kinds, Kind kind, int before, Random random, int count) {
+        List<Integer> picked = new ArrayList<>();
+        for (int attempt = 0; attempt < count * 8 && picked.size() < count && before > 0; attempt++) {
+            int candidate = Math.max(0, before - 1 - random.nextInt(Math.min(before, 200)));
+            if (kinds[candidate] == kind && !picked.contains(candidate)) {
+                picked.add(candidate);
+            }
+        }
+        return picked;
+    }
+
+    private static String packageOf(int i) {
+        return BASE_PACKAGE + ".p" + (i / FILES_PER_PACKAGE);
+    }
+
+    public static String className(Kind kind, int i) {
+        switch (kind) {
+            case CONTROLLER: return "Resource" + i + "Controller";
+            case SERVICE: return "Resource" + i + "Service";
+            case REPOSITORY: return "Resource" + i + "Repository";
+            case ENTITY: return "Resource" + i;
+            default: return "Resource" + i + "Dto";
+        }
+    }
+
+    private static String field(Kind kind, int i) {
+        String name = className(kind, i);
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.analyzer.bench;
+
+import com.github.javaparser.ast.CompilationUnit;
+import dev.analyzer.extractors.ControllerExtractor;
+import dev.analyzer.extractors.EntityExtractor;
+import dev.analyzer.extractors.RepositoryExtractor;
+import dev.analyzer.extractors.ServiceExtractor;
+import dev.analyzer.extractors.StereotypeVisitor;
+import dev.analyzer.scanner.Parsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-extractor throughput on pre-parsed compilation units, plus the parse itself for comparison
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractorBenchmark {
+
+    static final int FILES = 200;
+
+    @Param({"CONTROLLER", "SERVICE", "REPOSITORY", "ENTITY"})
+    public CorpusGenerator.Kind kind;
+
+    private List<String> sources;
+    private List<CompilationUnit> units;
+
+    @Setup
+    public void setup() {
+        sources = new CorpusGenerator(42, new CorpusGenerator.Mix()).sources(kind, FILES);
+        units = new ArrayList<>();
+        for (String source : sources) {
+            units.add(Parsers.parse(source));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public void extract(Blackhole bh) {
+        for (CompilationUnit cu : units) {
+            switch (kind) {
+                case CONTROLLER: bh.consume(ControllerExtractor.extract(cu)); break;
+                case SERVICE: bh.consume(ServiceExtractor.extract(cu)); break;
+                case REPOSITORY: bh.consume(RepositoryExtractor.extract(cu)); break;
+                default: bh.consume(EntityExtractor.extract(cu));
+            }
+        }
+    }
+
+    // The single-pass visitor the scanner uses, checking all four stereotypes
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public void visitor(Blackhole bh) {
+        for (CompilationUnit cu : units) {
+            bh.consume(StereotypeVisitor.extract(cu));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public void parse(Blackhole bh) {
+        for (String source : sources) {
+            bh.consume(Parsers.parse(source));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dev.analyzer.bench;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+import dev.analyzer.routes.RouteIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Request-URL matching through the RouteIndex trie against a linear scan over every endpoint template
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteIndexBenchmark {
+
+    static final int LOOKUPS = 1024;
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    @Param({"10000"})
+    public int endpoints;
+
+    private RouteIndex index;
+    private List<EndpointRef> templates;
+    private String[] lookupMethods;
+    private String[] lookupPaths;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<ControllerInfo> controllers = new ArrayList<>();
+        for (int c = 0; c * 10 < endpoints; c++) {
+            ControllerInfo controller = new ControllerInfo();
+            controller.className = "Resource" + c + "Controller";
+            controller.basePath = "/api/v1/r" + c;
+            for (int e = 0; e < 10 && c * 10 + e < endpoints; e++) {
+                EndpointInfo endpoint = new EndpointInfo();
+                endpoint.httpMethod = METHODS[e % METHODS.length];
+                endpoint.methodName = "op" + e;
+                endpoint.path = e < 4 ? "/{id}" : e < 8 ? "/{id}/items" + e + "/{itemId}" : "/search" + e;
+                controller.endpoints.add(endpoint);
+            }
+            controllers.add(controller);
+        }
+
+        index = RouteIndex.build(controllers);
+        templates = new ArrayList<>();
+        for (ControllerInfo controller : controllers) {
+            for (EndpointInfo endpoint : controller.endpoints) {
+                templates.add(EndpointRef.of(controller, endpoint));
+            }
+        }
+
+        lookupMethods = new String[LOOKUPS];
+        lookupPaths = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            EndpointRef target = templates.get(random.nextInt(templates.size()));
+            lookupMethods[i] = target.httpMethod;
+            lookupPaths[i] = target.path.replace("{id}", Integer.toString(random.nextInt(100000)))
+                    .replace("{itemId}", "x" + random.nextInt(1000));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void indexed(Blackhole bh) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            bh.consume(index.match(lookupMethods[i], lookupPaths[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void linear(Blackhole bh) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            bh.consume(linearMatch(lookupMethods[i], lookupPaths[i]));
+        }
+    }
+
+    private EndpointRef linearMatch(String method, String path) {
+        String[] segments = path.split("/");
+        for (EndpointRef template : templates) {
+            if (!template.httpMethod.equals(method)) continue;
+            String[] parts = template.path.split("/");
+            if (parts.length != segments.length) continue;
+            boolean matches = true;
+            for (int s = 0; s < parts.length && matches; s++) {
+                matches = parts[s].startsWith("{") || parts[s].equals(segments[s]);
+            }
+            if (matches) return template;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package dev.analyzer.bench;
+
+import dev.analyzer.scanner.HeapStats;
+import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.ScanOptions;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end ProjectScanner.scan over a generated corpus. Narrow the matrix with -p, e.g.
+// -p files=10000 -p threads=0 -p signaturesOnly=true
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ScanBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int files;
+
+    @Param({"1", "0"})
+    public int threads;
+
+    @Param({"false", "true"})
+    public boolean signaturesOnly;
+
+    @Param({"false", "true"})
+    public boolean leanModel;
+
+    @Param({"c=10,s=15,r=10,e=15,p=50"})
+    public String mix;
+
+    private File root;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Path corpus = CorpusGenerator.cached(files, CorpusGenerator.Mix.parse(mix), 42);
+        root = corpus.toFile();
+    }
+
+    @Setup(Level.Iteration)
+    public void quiet() {
+        // The scanner reports progress on stdout; keep it out of the JMH log
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void restore() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public ProjectScanner scan() throws Exception {
+        ProjectScanner scanner = new ProjectScanner(options());
+        scanner.scan(root);
+        return scanner;
+    }
+
+    // Heap still reachable from the scan result, reported as the "retainedBytes" counter
+    @Benchmark
+    public ProjectScanner retainedHeap(HeapCounters counters) throws Exception {
+        long before = HeapStats.retainedBytes();
+        ProjectScanner scanner = new ProjectScanner(options());
+        scanner.scan(root);
+        counters.retainedBytes += HeapStats.retainedBytes() - before;
+        return scanner;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long retainedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+        }
+    }
+
+    private ScanOptions options() {
+        ScanOptions options = new ScanOptions();
+        options.threads = threads;
+        options.signaturesOnly = signaturesOnly;
+        options.leanModel = leanModel;
+        return options;
+    }
+}
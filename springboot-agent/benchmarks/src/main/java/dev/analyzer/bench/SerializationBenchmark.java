@@ -0,0 +1,106 @@
+package dev.analyzer.bench;
+
+import dev.analyzer.binary.BinaryReader;
+import dev.analyzer.binary.BinaryWriter;
+import dev.analyzer.scanner.JsonOutput;
+import dev.analyzer.scanner.ProjectOutput;
+import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.ScanOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Cost of turning a finished analysis into its output formats and back
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int files;
+
+    private ProjectOutput output;
+    private Path dir;
+    private Path json;
+    private Path binary;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ProjectScanner scanner = new ProjectScanner(new ScanOptions());
+        scanner.scan(CorpusGenerator.cached(files, new CorpusGenerator.Mix(), 42).toFile());
+        output = scanner.getOutput();
+
+        dir = Files.createTempDirectory("sba-serialization");
+        json = dir.resolve("analysis.json");
+        binary = dir.resolve("analysis.sba");
+        JsonOutput.write(output, json, true, false);
+        BinaryWriter.write(output, binary);
+    }
+
+    @Setup(Level.Iteration)
+    public void quiet() {
+        // The writers report sizes on stdout; keep it out of the JMH log
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void restore() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonOutput.toJson(output);
+    }
+
+    @Benchmark
+    public void writePrettyJson() throws Exception {
+        JsonOutput.write(output, dir.resolve("pretty.json"), false, false);
+    }
+
+    @Benchmark
+    public void writeCompactJson() throws Exception {
+        JsonOutput.write(output, dir.resolve("compact.json"), true, false);
+    }
+
+    @Benchmark
+    public void writeGzipJson() throws Exception {
+        JsonOutput.write(output, dir.resolve("compact.json.gz"), true, true);
+    }
+
+    @Benchmark
+    public void writeBinary() throws Exception {
+        BinaryWriter.write(output, dir.resolve("out.sba"));
+    }
+
+    @Benchmark
+    public ProjectOutput readJson() throws Exception {
+        return JsonOutput.read(json);
+    }
+
+    @Benchmark
+    public ProjectOutput readBinary() throws Exception {
+        return BinaryReader.open(binary).toProjectOutput();
+    }
+}
@@ -0,0 +1,112 @@
+package dev.analyzer.bench;
+
+import dev.analyzer.scanner.ScanOptions;
+import dev.analyzer.scanner.SourceWalker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Finding the sources of a checked-out project that has been built and had its front end
+// installed, against the old walk of every entry filtered on "test" in the path. Most of the
+// tree is build output, node_modules and git objects, which the ignore-aware walker never lists
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SourceWalkBenchmark {
+
+    private static final String MARKER = ".walk-tree";
+
+    @Param({"500000"})
+    public int entries;
+
+    private Path root;
+    private SourceWalker walker;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = cachedTree(entries);
+        walker = new SourceWalker(root, new ScanOptions());
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Path> legacyWalk() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(path -> {
+                String name = path.toString();
+                return name.endsWith(".java") && !name.contains("test") && !name.contains("Test");
+            }).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public List<Path> walkSequential() {
+        return walker.walk(root, false, null);
+    }
+
+    @Benchmark
+    public List<Path> walkParallel() {
+        return walker.walk(root, false, pool);
+    }
+
+    // Roughly: 8% main sources, 4% test sources, 20% target, 45% node_modules, 23% .git/objects
+    static Path cachedTree(int entries) throws IOException {
+        Path root = Path.of(System.getProperty("java.io.tmpdir"), "sba-walk-tree-" + entries);
+        if (Files.exists(root.resolve(MARKER)) && Files.readString(root.resolve(MARKER)).equals(String.valueOf(entries))) {
+            return root;
+        }
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("pom.xml"), "<project/>\n");
+        Files.writeString(root.resolve(".gitignore"), "*.log\n/logs/\n");
+        fill(root.resolve("src/main/java/com/acme"), entries * 8 / 100, 40, ".java");
+        fill(root.resolve("src/test/java/com/acme"), entries * 4 / 100, 40, ".java");
+        fill(root.resolve("target/classes/com/acme"), entries * 14 / 100, 40, ".class");
+        fill(root.resolve("target/generated-sources/annotations/com/acme"), entries * 6 / 100, 40, ".java");
+        fill(root.resolve("frontend/node_modules"), entries * 45 / 100, 25, ".js");
+        fill(root.resolve(".git/objects"), entries * 23 / 100, 100, "");
+        Files.writeString(root.resolve(MARKER), String.valueOf(entries));
+        return root;
+    }
+
+    // About count entries: perDir files to a directory, plus the directories
+    private static void fill(Path base, int count, int perDir, String extension) throws IOException {
+        byte[] content = "class Placeholder {}\n".getBytes(StandardCharsets.UTF_8);
+        int dirs = Math.max(1, count / (perDir + 1));
+        for (int d = 0; d < dirs; d++) {
+            Path dir = base.resolve("p" + d / 64).resolve("q" + d % 64);
+            Files.createDirectories(dir);
+            for (int f = 0; f < perDir; f++) {
+                Files.write(dir.resolve("F" + d + "_" + f + extension), content);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dev.analyzer.bench;
+
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FieldInfo;
+import dev.analyzer.models.MethodInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.scanner.ProjectOutput;
+import dev.analyzer.search.SymbolSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Top-10 symbol search through the trigram index against the linear case-insensitive
+// substring scan it replaces; the queries mix full names, prefixes, camel-case
+// abbreviations and misspellings
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SymbolSearchBenchmark {
+
+    static final int QUERIES = 256;
+    private static final String[] WORDS = {"User", "Order", "Invoice", "Payment", "Customer", "Product", "Account",
+            "Shipment", "Address", "Catalog", "Inventory", "Report", "Audit", "Session", "Token", "Role"};
+    private static final String[] VERBS = {"find", "create", "update", "delete", "list", "count", "validate", "export"};
+
+    @Param({"100000"})
+    public int symbols;
+
+    private SymbolSearchIndex index;
+    private List<String> names;
+    private String[] queries;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<ServiceInfo> services = new ArrayList<>();
+        List<EntityInfo> entities = new ArrayList<>();
+        names = new ArrayList<>();
+        for (int i = 0; names.size() < symbols; i++) {
+            String base = WORDS[random.nextInt(WORDS.length)] + WORDS[random.nextInt(WORDS.length)] + i;
+            if (i % 2 == 0) {
+                ServiceInfo service = new ServiceInfo();
+                service.className = base + "Service";
+                service.methods = new ArrayList<>();
+                names.add(service.className);
+                for (int m = 0; m < 9; m++) {
+                    MethodInfo method = new MethodInfo();
+                    method.name = VERBS[random.nextInt(VERBS.length)] + WORDS[random.nextInt(WORDS.length)] + m;
+                    service.methods.add(method);
+                    names.add(method.name);
+                }
+                services.add(service);
+            } else {
+                EntityInfo entity = new EntityInfo();
+                entity.className = base;
+                names.add(entity.className);
+                for (int f = 0; f < 9; f++) {
+                    FieldInfo field = new FieldInfo();
+                    field.name = WORDS[random.nextInt(WORDS.length)].toLowerCase(Locale.ROOT) + "Id" + f;
+                    entity.fields.add(field);
+                    names.add(field.name);
+                }
+                entities.add(entity);
+            }
+        }
+        index = SymbolSearchIndex.build(new ProjectOutput(null, services, null, entities));
+
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            switch (i % 4) {
+                case 0: queries[i] = name; break;
+                case 1: queries[i] = name.substring(0, Math.min(name.length(), 6)); break;
+                case 2: queries[i] = abbreviate(name); break;
+                default: queries[i] = name.substring(0, name.length() / 2) + name.substring(name.length() / 2 + 1);
+            }
+        }
+    }
+
+    // UserOrder12Service -> UsOr12Se
+    private static String abbreviate(String name) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) || Character.isDigit(c) || i == 0) {
+                sb.append(c);
+                if (i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1))) sb.append(name.charAt(i + 1));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void indexed(Blackhole bh) {
+        for (String query : queries) {
+            bh.consume(index.search(query, null, 10));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void linear(Blackhole bh) {
+        for (String query : queries) {
+            bh.consume(linearSearch(query));
+        }
+    }
+
+    private String linearSearch(String query) {
+        String q = query.toLowerCase(Locale.ROOT);
+        for (String name : names) {
+            if (name.toLowerCase(Locale.ROOT).contains(q)) return name;
+        }
+        return null;
+    }
+}
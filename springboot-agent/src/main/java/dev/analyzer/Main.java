@@ -1,17 +1,162 @@
 package dev.analyzer;
 
+import dev.analyzer.binary.BinaryConverter;
+import dev.analyzer.batch.BatchProject;
+import dev.analyzer.batch.BatchScanner;
+import dev.analyzer.binary.BinaryReader;
+import dev.analyzer.diff.ApiDelta;
+import dev.analyzer.diff.ApiDiff;
+import dev.analyzer.scanner.Archives;
+import dev.analyzer.scanner.HeapStats;
+import dev.analyzer.scanner.JsonOutput;
+import dev.analyzer.scanner.NdjsonWriter;
+import dev.analyzer.scanner.ProjectOutput;
 import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.ScanOptions;
+import dev.analyzer.search.SymbolSearchIndex;
+import dev.analyzer.server.ModelIndex;
+import dev.analyzer.server.QueryServer;
+import dev.analyzer.shards.ShardedOutput;
+import dev.analyzer.watch.ProjectWatcher;
+import dev.analyzer.worker.WorkerServer;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 public class Main {
     public static void main(String[] args) throws Exception {
+        ScanOptions options = new ScanOptions();
+        List<String> positional = new ArrayList<>();
+        boolean watch = false;
+        boolean heapReport = false;
+        boolean threadsSet = false;
+        boolean portSet = false;
+        int port = 8080;
+        String bind = null;
+        String outputDir = ".";
+        int parallelProjects = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    // 0 means one worker per available core
+                    options.threads = Integer.parseInt(args[++i]);
+                    threadsSet = true;
+                    break;
+                case "--cache":
+                    options.cachePath = args[++i];
+                    break;
+                case "--signatures-only":
+                    options.signaturesOnly = true;
+                    break;
+                case "--modules":
+                    options.modules = true;
+                    break;
+                case "--sharded":
+                    options.sharded = true;
+                    break;
+                case "--metrics":
+                    options.metricsPath = args[++i];
+                    break;
+                case "--max-file-size":
+                    options.maxFileBytes = parseBytes(args[++i]);
+                    break;
+                case "--parse-timeout":
+                    options.parseTimeoutMillis = Long.parseLong(args[++i]);
+                    break;
+                case "--memory-budget":
+                    options.memoryBudgetMb = Integer.parseInt(args[++i]);
+                    break;
+                case "--resolve-types":
+                    options.resolveTypes = true;
+                    break;
+                case "--include":
+                    options.includes.add(args[++i]);
+                    break;
+                case "--exclude":
+                    options.excludes.add(args[++i]);
+                    break;
+                case "--no-gitignore":
+                    options.gitignore = false;
+                    break;
+                case "--include-tests":
+                    options.includeTests = true;
+                    break;
+                case "--no-search-index":
+                    options.searchIndex = false;
+                    break;
+                case "--lean":
+                    options.leanModel = true;
+                    break;
+                case "--heap-report":
+                    heapReport = true;
+                    break;
+                case "--compact":
+                    options.compactJson = true;
+                    break;
+                case "--gzip":
+                    options.gzip = true;
+                    break;
+                case "--watch":
+                    watch = true;
+                    break;
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    portSet = true;
+                    break;
+                case "--bind":
+                    // Address the query server listens on; loopback unless given
+                    bind = args[++i];
+                    break;
+                case "--output-dir":
+                    outputDir = args[++i];
+                    break;
+                case "--parallel-projects":
+                    parallelProjects = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    positional.add(args[i]);
+            }
+        }
+
+        String mode = positional.isEmpty() ? "" : positional.get(0);
+        switch (mode) {
+            case "convert":
+                convert(positional);
+                break;
+            case "serve":
+                serve(positional, options, bind, port);
+                break;
+            case "diff":
+                diff(positional, options);
+                break;
+            case "worker":
+                if (!threadsSet) options.threads = 0;
+                worker(options, portSet ? port : -1, parallelProjects);
+                break;
+            case "batch":
+                // A batch uses every core unless told otherwise
+                if (!threadsSet) options.threads = 0;
+                batch(positional, options, Path.of(outputDir), parallelProjects);
+                break;
+            default:
+                scan(positional, options, watch, heapReport);
+        }
+    }
+
+    private static void scan(List<String> positional, ScanOptions options, boolean watch, boolean heapReport) throws Exception {
         String projectPath;
         String outputPath;
 
-        if (args.length >= 2) {
-            projectPath = args[0];
-            outputPath = args[1];
+        if (positional.size() >= 2) {
+            projectPath = positional.get(0);
+            outputPath = positional.get(1);
         } else {
             // Default paths for testing
             projectPath = "path/to/your/default/project";
@@ -25,10 +170,193 @@ public class Main {
             System.exit(1);
         }
 
-        ProjectScanner scanner = new ProjectScanner();
-        scanner.scan(projectRoot);
-        scanner.saveJson(outputPath);
+        if (watch && Archives.isArchive(projectRoot.toPath())) {
+            System.err.println("--watch needs a project directory, not an archive");
+            System.exit(1);
+        }
+
+        // NDJSON output is streamed while the scan runs; without --watch nothing needs to stay in memory
+        boolean stream = outputPath.endsWith(".ndjson");
+        if (stream && options.resolveTypes) {
+            // Types are resolved once the whole project is indexed, after the records are written
+            System.err.println("--resolve-types cannot be combined with streamed .ndjson output");
+            System.exit(1);
+        }
+        if (stream && !watch) {
+            options.retainResults = false;
+        }
+
+        ProjectScanner scanner = new ProjectScanner(options);
+        if (stream) {
+            try (NdjsonWriter writer = NdjsonWriter.open(Path.of(outputPath), projectRoot.toPath())) {
+                scanner.addListener(writer);
+                scanner.scan(projectRoot);
+                scanner.removeListener(writer);
+            }
+        } else {
+            scanner.scan(projectRoot);
+        }
+
+        if (heapReport) {
+            System.out.println("Retained heap after scan: " + HeapStats.megabytes(HeapStats.retainedBytes())
+                    + (options.leanModel ? " (lean model)" : ""));
+        }
+
+        if (!stream) {
+            scanner.save(outputPath);
+        }
 
         System.out.println("Analysis complete: " + outputPath);
+
+        if (watch) {
+            try (ProjectWatcher watcher = new ProjectWatcher(scanner, outputPath)) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        scanner.saveCache();
+                    } catch (Exception e) {
+                        System.err.println("Could not save cache: " + e.getMessage());
+                    }
+                }));
+                watcher.run();
+            }
+        }
+    }
+
+    // Plain bytes or with a k/m/g suffix
+    private static long parseBytes(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        long unit = 1;
+        if (v.endsWith("k")) unit = 1L << 10;
+        else if (v.endsWith("m")) unit = 1L << 20;
+        else if (v.endsWith("g")) unit = 1L << 30;
+        if (unit > 1) v = v.substring(0, v.length() - 1);
+        return Long.parseLong(v) * unit;
+    }
+
+    private static void convert(List<String> positional) throws Exception {
+        if (positional.size() < 3) {
+            System.err.println("Usage: convert <input.json|input.sba> <output.sba|output.json>");
+            System.exit(1);
+        }
+        BinaryConverter.convert(Path.of(positional.get(1)), Path.of(positional.get(2)));
+    }
+
+    // Without --port the worker talks JSON-RPC over stdin/stdout
+    private static void worker(ScanOptions options, int port, int parallelJobs) throws Exception {
+        if (parallelJobs <= 0) {
+            parallelJobs = Math.min(4, options.effectiveThreads());
+        }
+        WorkerServer worker = new WorkerServer(options, parallelJobs);
+        if (port >= 0) {
+            worker.serveSocket(port);
+        } else {
+            worker.serveStdio();
+        }
+    }
+
+    private static void batch(List<String> positional, ScanOptions options, Path outputDir, int parallelProjects) throws Exception {
+        if (positional.size() < 2) {
+            System.err.println("Usage: batch <projectDir|archive|manifest.txt>... [--output-dir dir] [--parallel-projects N]");
+            System.exit(1);
+        }
+
+        // Directories and archives are projects, any other file is a manifest listing projects
+        List<BatchProject> projects = new ArrayList<>();
+        for (String arg : positional.subList(1, positional.size())) {
+            Path path = Path.of(arg);
+            if (Files.isRegularFile(path) && !Archives.isArchive(path)) {
+                projects.addAll(BatchScanner.readManifest(path));
+            } else {
+                projects.add(new BatchProject(path, null));
+            }
+        }
+
+        // Each project in flight keeps its results until they are saved, so only a few run at once
+        if (parallelProjects <= 0) {
+            parallelProjects = Math.min(4, options.effectiveThreads());
+        }
+        new BatchScanner(options, outputDir, parallelProjects).run(projects);
+        if (projects.stream().anyMatch(p -> p.error != null)) {
+            System.exit(2);
+        }
+    }
+
+    private static void diff(List<String> positional, ScanOptions options) throws Exception {
+        if (positional.size() < 3) {
+            System.err.println("Usage: diff <baseRef> <headRef> [repoDir] [api-diff.json]");
+            System.exit(1);
+        }
+        Path dir = Path.of(positional.size() >= 4 ? positional.get(3) : ".");
+        if (!Files.isDirectory(dir)) {
+            System.err.println("Repository path does not exist: " + dir);
+            System.exit(1);
+        }
+
+        ApiDelta delta;
+        try {
+            delta = ApiDiff.diff(dir, positional.get(1), positional.get(2), options);
+        } catch (IOException e) {
+            System.err.println("Could not read revisions from git: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        // Without an output file the JSON goes to stdout and the progress messages to stderr
+        if (positional.size() >= 5) {
+            delta.write(Path.of(positional.get(4)));
+            System.out.print(delta.summary());
+        } else {
+            System.out.println(delta.toJson());
+        }
+    }
+
+    private static void serve(List<String> positional, ScanOptions options, String bind, int port) throws Exception {
+        if (positional.size() < 2) {
+            System.err.println("Usage: serve <projectDir|shardDir|analysis.json|analysis.sba> [--port 8080] [--bind address]");
+            System.exit(1);
+        }
+
+        Path source = Path.of(positional.get(1));
+        if (!Files.exists(source)) {
+            System.err.println("Path does not exist: " + source);
+            System.exit(1);
+        }
+
+        ProjectOutput output;
+        boolean saved = true;
+        if (ShardedOutput.isSharded(source)) {
+            output = ShardedOutput.open(source).toProjectOutput();
+        } else if (Files.isDirectory(source)) {
+            ProjectScanner scanner = new ProjectScanner(options);
+            scanner.scan(source.toFile());
+            output = scanner.getOutput();
+            saved = false;
+        } else if (BinaryConverter.isBinary(source.toString())) {
+            output = BinaryReader.open(source).toProjectOutput();
+        } else {
+            output = JsonOutput.read(source);
+        }
+
+        // Use the search index saved with the analysis when there is one, otherwise build it
+        SymbolSearchIndex search = null;
+        Path searchFile = SymbolSearchIndex.pathFor(source);
+        if (saved && Files.isRegularFile(searchFile)) {
+            try {
+                search = SymbolSearchIndex.load(searchFile);
+                if (!search.matches(output)) {
+                    System.err.println("Search index does not match the analysis, rebuilding: " + searchFile);
+                    search = null;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Ignoring unreadable search index: " + searchFile + " - " + e.getMessage());
+            }
+        }
+        if (search == null) {
+            search = SymbolSearchIndex.build(output);
+        }
+
+        InetAddress address = bind != null ? InetAddress.getByName(bind) : InetAddress.getLoopbackAddress();
+        QueryServer server = new QueryServer(ModelIndex.build(output, search), address, port);
+        server.start();
+        System.out.println("Serving analysis on http://" + (bind != null ? bind : "localhost") + ":" + server.getPort());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package dev.analyzer.batch;
+
+import java.nio.file.Path;
+
+public class BatchProject {
+    public final Path root;
+    public Path output;        // assigned from the output directory when the manifest gives none
+    public String name;
+    public int files;
+    public long millis;
+    public String error;       // null when the scan succeeded
+
+    public BatchProject(Path root, Path output) {
+        this.root = root;
+        this.output = output;
+    }
+
+    @Override
+    public String toString() {
+        if (error != null) {
+            return name + ": FAILED after " + millis + " ms - " + error;
+        }
+        return name + ": " + files + " files in " + millis + " ms -> " + output;
+    }
+}
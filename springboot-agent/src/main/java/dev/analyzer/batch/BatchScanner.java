@@ -0,0 +1,142 @@
+package dev.analyzer.batch;
+
+import dev.analyzer.scanner.Archives;
+import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.ScanOptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Scans many projects in one JVM. A few projects are in flight at a time, each driven by its own
+// thread that walks, resolves and saves it, while the files of all of them are parsed on one
+// work-stealing pool sized to the cores. The pool threads live for the whole batch, so their
+// per-thread parsers, the shared Gson instances and the JIT stay warm from one project to the next.
+public class BatchScanner {
+
+    private final ScanOptions options;
+    private final Path outputDir;
+    private final int parallelProjects;
+
+    // parallelProjects bounds how many scans hold their results in memory at once
+    public BatchScanner(ScanOptions options, Path outputDir, int parallelProjects) {
+        this.options = options;
+        this.outputDir = outputDir;
+        this.parallelProjects = Math.max(1, parallelProjects);
+    }
+
+    // One project per line, optionally followed by a tab and its output path; relative paths are
+    // taken from the manifest's directory. Blank lines and lines starting with # are skipped
+    public static List<BatchProject> readManifest(Path manifest) throws IOException {
+        Path base = manifest.toAbsolutePath().getParent();
+        List<BatchProject> projects = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            String entry = line.strip();
+            if (entry.isEmpty() || entry.startsWith("#")) continue;
+            int tab = entry.indexOf('\t');
+            Path root = base.resolve(tab < 0 ? entry : entry.substring(0, tab).strip());
+            Path output = tab < 0 ? null : base.resolve(entry.substring(tab + 1).strip());
+            projects.add(new BatchProject(root, output));
+        }
+        return projects;
+    }
+
+    public List<BatchProject> run(List<BatchProject> projects) throws InterruptedException {
+        assignOutputs(projects);
+        int threads = options.effectiveThreads();
+        int drivers = Math.min(parallelProjects, Math.max(1, projects.size()));
+        System.out.println("Scanning " + projects.size() + " projects on " + threads + " threads, "
+                + drivers + " at a time");
+
+        long start = System.nanoTime();
+        AtomicInteger done = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(drivers);
+        try {
+            for (BatchProject project : projects) {
+                executor.execute(() -> {
+                    scan(project, pool);
+                    System.out.println("[" + done.incrementAndGet() + "/" + projects.size() + "] " + project);
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } finally {
+            executor.shutdownNow();
+            pool.shutdown();
+        }
+
+        int files = 0;
+        int failed = 0;
+        for (BatchProject project : projects) {
+            files += project.files;
+            if (project.error != null) failed++;
+        }
+        System.out.println("Batch complete: " + projects.size() + " projects, " + files + " files in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms" + (failed > 0 ? ", " + failed + " failed" : ""));
+        return projects;
+    }
+
+    // A failing project is reported and the batch carries on
+    private void scan(BatchProject project, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        try {
+            if (!Files.exists(project.root)) {
+                throw new IOException("project path does not exist: " + project.root);
+            }
+            ProjectScanner scanner = new ProjectScanner(optionsFor(project), pool);
+            scanner.scan(project.root);
+            scanner.save(project.output.toString());
+            project.files = scanner.getFileCount();
+        } catch (Exception e) {
+            project.error = e.getMessage() != null ? e.getMessage() : e.toString();
+        }
+        project.millis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    // The cache and metrics paths name directories in batch mode, with one file per project
+    private ScanOptions optionsFor(BatchProject project) {
+        ScanOptions projectOptions = options.copy();
+        if (options.cachePath != null) {
+            projectOptions.cachePath = Path.of(options.cachePath).resolve(project.name + ".cache").toString();
+        }
+        if (options.metricsPath != null) {
+            projectOptions.metricsPath = Path.of(options.metricsPath).resolve(project.name + ".metrics.json").toString();
+        }
+        return projectOptions;
+    }
+
+    // Projects are named after their directory or archive; repeated names get a numeric suffix
+    private void assignOutputs(List<BatchProject> projects) {
+        Set<String> used = new HashSet<>();
+        for (BatchProject project : projects) {
+            String name = project.output != null ? stem(project.output, true) : stem(project.root, Archives.isArchive(project.root));
+            String unique = name;
+            for (int n = 2; !used.add(unique); n++) {
+                unique = name + "-" + n;
+            }
+            project.name = unique;
+            if (project.output == null) {
+                String extension = options.sharded ? "" : options.gzip ? ".json.gz" : ".json";
+                project.output = outputDir.resolve(unique + extension);
+            }
+        }
+    }
+
+    private static String stem(Path path, boolean stripExtension) {
+        Path fileName = path.toAbsolutePath().normalize().getFileName();
+        String name = fileName != null ? fileName.toString() : "project";
+        int dot = name.indexOf('.');
+        return stripExtension && dot > 0 ? name.substring(0, dot) : name;
+    }
+}
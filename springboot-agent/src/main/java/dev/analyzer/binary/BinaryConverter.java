@@ -0,0 +1,30 @@
+package dev.analyzer.binary;
+
+import dev.analyzer.scanner.JsonOutput;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class BinaryConverter {
+
+    public static boolean isBinary(String path) {
+        return path.endsWith(BinaryFormat.EXTENSION);
+    }
+
+    // Converts between JSON (optionally gzipped) and the binary format, based on the file extensions
+    public static void convert(Path source, Path target) throws IOException {
+        boolean fromBinary = isBinary(source.toString());
+        boolean toBinary = isBinary(target.toString());
+
+        if (fromBinary == toBinary) {
+            throw new IllegalArgumentException("Exactly one of the two paths must end with " + BinaryFormat.EXTENSION);
+        }
+
+        if (toBinary) {
+            BinaryWriter.write(JsonOutput.read(source), target);
+        } else {
+            boolean gzip = target.toString().endsWith(".gz");
+            JsonOutput.write(BinaryReader.open(source).toProjectOutput(), target, false, gzip);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.analyzer.binary;
+
+// Layout of a .sba file:
+//
+//   int   magic ("SBA" + 0x1A)
+//   int   format version
+//   int   section count
+//   per section: int offset, int length (absolute, in bytes)
+//   sections: strings, controllers, services, repositories, entities, quarantined files
+//
+// The string table is a varint count followed by varint-length-prefixed UTF-8 strings.
+// Every other section is a varint item count followed by items that refer to strings by
+// varint index. Index 0 means null, so string i is stored as i + 1; lists use the same
+// +1 encoding for their sizes. Quarantined file sizes are varlongs.
+public final class BinaryFormat {
+
+    public static final int MAGIC = 0x5342411A;
+    public static final int VERSION = 5;
+
+    public static final int SECTION_STRINGS = 0;
+    public static final int SECTION_CONTROLLERS = 1;
+    public static final int SECTION_SERVICES = 2;
+    public static final int SECTION_REPOSITORIES = 3;
+    public static final int SECTION_ENTITIES = 4;
+    public static final int SECTION_QUARANTINED = 5;
+    public static final int SECTION_COUNT = 6;
+
+    public static final int HEADER_SIZE = 12 + SECTION_COUNT * 8;
+
+    public static final String EXTENSION = ".sba";
+
+    private BinaryFormat() {
+    }
+}
@@ -0,0 +1,355 @@
+package dev.analyzer.binary;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.DependencyInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FieldInfo;
+import dev.analyzer.models.MethodInfo;
+import dev.analyzer.models.ParameterInfo;
+import dev.analyzer.models.QuarantinedFile;
+import dev.analyzer.models.RelationshipInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.scanner.ProjectOutput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BinaryReader {
+
+    private final ByteBuffer buffer;
+    private final int[] sectionOffsets = new int[BinaryFormat.SECTION_COUNT];
+    private final int[] sectionLengths = new int[BinaryFormat.SECTION_COUNT];
+
+    // String offsets are indexed up front; the strings themselves are decoded on first use
+    private int[] stringOffsets;
+    private int[] stringLengths;
+    private String[] strings;
+
+    private List<ControllerInfo> controllers;
+    private List<ServiceInfo> services;
+    private List<RepositoryInfo> repositories;
+    private List<EntityInfo> entities;
+    private List<QuarantinedFile> quarantined;
+
+    public BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        readHeader();
+        indexStrings();
+    }
+
+    public static BinaryReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new BinaryReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public synchronized List<ControllerInfo> getControllers() {
+        if (controllers == null) {
+            controllers = readControllers(new Cursor(sectionOffsets[BinaryFormat.SECTION_CONTROLLERS]));
+        }
+        return controllers;
+    }
+
+    public synchronized List<ServiceInfo> getServices() {
+        if (services == null) {
+            services = readServices(new Cursor(sectionOffsets[BinaryFormat.SECTION_SERVICES]));
+        }
+        return services;
+    }
+
+    public synchronized List<RepositoryInfo> getRepositories() {
+        if (repositories == null) {
+            repositories = readRepositories(new Cursor(sectionOffsets[BinaryFormat.SECTION_REPOSITORIES]));
+        }
+        return repositories;
+    }
+
+    public synchronized List<EntityInfo> getEntities() {
+        if (entities == null) {
+            entities = readEntities(new Cursor(sectionOffsets[BinaryFormat.SECTION_ENTITIES]));
+        }
+        return entities;
+    }
+
+    public synchronized List<QuarantinedFile> getQuarantined() {
+        if (quarantined == null) {
+            quarantined = readQuarantined(new Cursor(sectionOffsets[BinaryFormat.SECTION_QUARANTINED]));
+        }
+        return quarantined;
+    }
+
+    public ProjectOutput toProjectOutput() {
+        ProjectOutput output = new ProjectOutput(getControllers(), getServices(), getRepositories(), getEntities());
+        output.quarantined = getQuarantined();
+        return output;
+    }
+
+    private void readHeader() {
+        if (buffer.limit() < BinaryFormat.HEADER_SIZE || buffer.getInt(0) != BinaryFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a binary analysis file");
+        }
+        int version = buffer.getInt(4);
+        if (version != BinaryFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported binary analysis version: " + version);
+        }
+        int count = buffer.getInt(8);
+        if (count < BinaryFormat.SECTION_COUNT) {
+            throw new IllegalArgumentException("Binary analysis file has " + count + " sections");
+        }
+        for (int i = 0; i < BinaryFormat.SECTION_COUNT; i++) {
+            sectionOffsets[i] = buffer.getInt(12 + i * 8);
+            sectionLengths[i] = buffer.getInt(16 + i * 8);
+            if (sectionOffsets[i] < 0 || sectionOffsets[i] + sectionLengths[i] > buffer.limit()) {
+                throw new IllegalArgumentException("Corrupt section table in binary analysis file");
+            }
+        }
+    }
+
+    private void indexStrings() {
+        Cursor cursor = new Cursor(sectionOffsets[BinaryFormat.SECTION_STRINGS]);
+        int count = cursor.varint();
+        stringOffsets = new int[count];
+        stringLengths = new int[count];
+        strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            stringLengths[i] = cursor.varint();
+            stringOffsets[i] = cursor.position;
+            cursor.position += stringLengths[i];
+        }
+    }
+
+    private String string(Cursor cursor) {
+        int ref = cursor.varint();
+        if (ref == 0) return null;
+
+        int index = ref - 1;
+        String s = strings[index];
+        if (s == null) {
+            byte[] bytes = new byte[stringLengths[index]];
+            buffer.get(stringOffsets[index], bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    private List<ControllerInfo> readControllers(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<ControllerInfo> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ControllerInfo c = new ControllerInfo();
+            c.className = string(cursor);
+            c.qualifiedName = string(cursor);
+            c.basePath = string(cursor);
+            int endpoints = cursor.varint() - 1;
+            if (endpoints < 0) {
+                c.endpoints = null;
+            } else {
+                for (int j = 0; j < endpoints; j++) {
+                    EndpointInfo e = new EndpointInfo();
+                    e.httpMethod = string(cursor);
+                    e.path = string(cursor);
+                    e.methodName = string(cursor);
+                    e.returnType = string(cursor);
+                    e.parameters = readParameters(cursor);
+                    e.uses = readStrings(cursor);
+                    c.endpoints.add(e);
+                }
+            }
+            c.dependencies = readDependencies(cursor);
+            result.add(c);
+        }
+        return result;
+    }
+
+    private List<ServiceInfo> readServices(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<ServiceInfo> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ServiceInfo s = new ServiceInfo();
+            s.className = string(cursor);
+            s.qualifiedName = string(cursor);
+            s.dependencies = readDependencies(cursor);
+            s.methods = readMethods(cursor);
+            result.add(s);
+        }
+        return result;
+    }
+
+    private List<RepositoryInfo> readRepositories(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<RepositoryInfo> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            RepositoryInfo r = new RepositoryInfo();
+            r.interfaceName = string(cursor);
+            r.qualifiedName = string(cursor);
+            r.entityType = string(cursor);
+            r.idType = string(cursor);
+            r.customMethods = readMethods(cursor);
+            result.add(r);
+        }
+        return result;
+    }
+
+    private List<EntityInfo> readEntities(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<EntityInfo> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            EntityInfo e = new EntityInfo();
+            e.className = string(cursor);
+            e.qualifiedName = string(cursor);
+            e.tableName = string(cursor);
+            int fields = cursor.varint() - 1;
+            if (fields < 0) {
+                e.fields = null;
+            } else {
+                for (int j = 0; j < fields; j++) {
+                    FieldInfo f = new FieldInfo();
+                    f.name = string(cursor);
+                    f.type = string(cursor);
+                    int annotations = cursor.varint() - 1;
+                    if (annotations < 0) {
+                        f.annotations = null;
+                    } else {
+                        for (int k = 0; k < annotations; k++) {
+                            f.annotations.add(string(cursor));
+                        }
+                    }
+                    e.fields.add(f);
+                }
+            }
+            int relationships = cursor.varint() - 1;
+            if (relationships < 0) {
+                e.relationships = null;
+            } else {
+                for (int j = 0; j < relationships; j++) {
+                    RelationshipInfo r = new RelationshipInfo();
+                    r.type = string(cursor);
+                    r.fieldName = string(cursor);
+                    r.targetEntity = string(cursor);
+                    e.relationships.add(r);
+                }
+            }
+            result.add(e);
+        }
+        return result;
+    }
+
+    private List<QuarantinedFile> readQuarantined(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<QuarantinedFile> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String file = string(cursor);
+            long bytes = cursor.varlong();
+            result.add(new QuarantinedFile(file, bytes, string(cursor)));
+        }
+        return result;
+    }
+
+    private List<DependencyInfo> readDependencies(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<DependencyInfo> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DependencyInfo d = new DependencyInfo();
+            d.type = string(cursor);
+            d.name = string(cursor);
+            result.add(d);
+        }
+        return result;
+    }
+
+    private List<String> readStrings(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(string(cursor));
+        }
+        return result;
+    }
+
+    private List<MethodInfo> readMethods(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<MethodInfo> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MethodInfo m = new MethodInfo();
+            m.name = string(cursor);
+            m.returnType = string(cursor);
+            m.parameters = readParameters(cursor);
+            result.add(m);
+        }
+        return result;
+    }
+
+    private List<ParameterInfo> readParameters(Cursor cursor) {
+        int size = cursor.varint() - 1;
+        if (size < 0) return null;
+
+        List<ParameterInfo> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ParameterInfo p = new ParameterInfo();
+            p.name = string(cursor);
+            p.type = string(cursor);
+            p.annotation = string(cursor);
+            result.add(p);
+        }
+        return result;
+    }
+
+    // Absolute reads keep the shared buffer's position untouched, so sections can be read independently
+    private class Cursor {
+        int position;
+
+        Cursor(int position) {
+            this.position = position;
+        }
+
+        int varint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long varlong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
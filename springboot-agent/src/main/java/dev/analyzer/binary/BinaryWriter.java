@@ -0,0 +1,262 @@
+package dev.analyzer.binary;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.DependencyInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FieldInfo;
+import dev.analyzer.models.MethodInfo;
+import dev.analyzer.models.ParameterInfo;
+import dev.analyzer.models.QuarantinedFile;
+import dev.analyzer.models.RelationshipInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.scanner.AtomicWrite;
+import dev.analyzer.scanner.ProjectOutput;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BinaryWriter {
+
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    public static void write(ProjectOutput output, Path target) throws IOException {
+        new BinaryWriter().writeFile(output, target.toAbsolutePath());
+    }
+
+    private void writeFile(ProjectOutput output, Path target) throws IOException {
+        // Encode the item sections first, which also fills the string table
+        byte[][] sections = new byte[BinaryFormat.SECTION_COUNT][];
+        sections[BinaryFormat.SECTION_CONTROLLERS] = encodeControllers(output.controllers);
+        sections[BinaryFormat.SECTION_SERVICES] = encodeServices(output.services);
+        sections[BinaryFormat.SECTION_REPOSITORIES] = encodeRepositories(output.repositories);
+        sections[BinaryFormat.SECTION_ENTITIES] = encodeEntities(output.entities);
+        sections[BinaryFormat.SECTION_QUARANTINED] = encodeQuarantined(output.quarantined);
+        sections[BinaryFormat.SECTION_STRINGS] = encodeStrings();
+
+        AtomicWrite.write(target, temp -> {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(BinaryFormat.MAGIC);
+                out.writeInt(BinaryFormat.VERSION);
+                out.writeInt(BinaryFormat.SECTION_COUNT);
+
+                int offset = BinaryFormat.HEADER_SIZE;
+                for (byte[] section : sections) {
+                    out.writeInt(offset);
+                    out.writeInt(section.length);
+                    offset += section.length;
+                }
+                for (byte[] section : sections) {
+                    out.write(section);
+                }
+            }
+        });
+
+        System.out.println("Saved to: " + target + " (" + Files.size(target) / 1024 + " KB, "
+                + strings.size() + " distinct strings)");
+    }
+
+    private byte[] encodeStrings() {
+        Buffer buf = new Buffer();
+        buf.writeVarint(strings.size());
+        for (String s : strings) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            buf.writeVarint(bytes.length);
+            buf.write(bytes, 0, bytes.length);
+        }
+        return buf.toByteArray();
+    }
+
+    private byte[] encodeControllers(List<ControllerInfo> controllers) {
+        Buffer buf = new Buffer();
+        writeSize(buf, controllers);
+        if (controllers == null) return buf.toByteArray();
+
+        for (ControllerInfo c : controllers) {
+            writeString(buf, c.className);
+            writeString(buf, c.qualifiedName);
+            writeString(buf, c.basePath);
+            writeSize(buf, c.endpoints);
+            if (c.endpoints == null) continue;
+            for (EndpointInfo e : c.endpoints) {
+                writeString(buf, e.httpMethod);
+                writeString(buf, e.path);
+                writeString(buf, e.methodName);
+                writeString(buf, e.returnType);
+                writeParameters(buf, e.parameters);
+                writeStrings(buf, e.uses);
+            }
+            writeDependencies(buf, c.dependencies);
+        }
+        return buf.toByteArray();
+    }
+
+    private byte[] encodeServices(List<ServiceInfo> services) {
+        Buffer buf = new Buffer();
+        writeSize(buf, services);
+        if (services == null) return buf.toByteArray();
+
+        for (ServiceInfo s : services) {
+            writeString(buf, s.className);
+            writeString(buf, s.qualifiedName);
+            writeDependencies(buf, s.dependencies);
+            writeMethods(buf, s.methods);
+        }
+        return buf.toByteArray();
+    }
+
+    private byte[] encodeRepositories(List<RepositoryInfo> repositories) {
+        Buffer buf = new Buffer();
+        writeSize(buf, repositories);
+        if (repositories == null) return buf.toByteArray();
+
+        for (RepositoryInfo r : repositories) {
+            writeString(buf, r.interfaceName);
+            writeString(buf, r.qualifiedName);
+            writeString(buf, r.entityType);
+            writeString(buf, r.idType);
+            writeMethods(buf, r.customMethods);
+        }
+        return buf.toByteArray();
+    }
+
+    private byte[] encodeEntities(List<EntityInfo> entities) {
+        Buffer buf = new Buffer();
+        writeSize(buf, entities);
+        if (entities == null) return buf.toByteArray();
+
+        for (EntityInfo e : entities) {
+            writeString(buf, e.className);
+            writeString(buf, e.qualifiedName);
+            writeString(buf, e.tableName);
+            writeSize(buf, e.fields);
+            if (e.fields != null) {
+                for (FieldInfo f : e.fields) {
+                    writeString(buf, f.name);
+                    writeString(buf, f.type);
+                    writeSize(buf, f.annotations);
+                    if (f.annotations != null) {
+                        for (String a : f.annotations) {
+                            writeString(buf, a);
+                        }
+                    }
+                }
+            }
+            writeSize(buf, e.relationships);
+            if (e.relationships != null) {
+                for (RelationshipInfo r : e.relationships) {
+                    writeString(buf, r.type);
+                    writeString(buf, r.fieldName);
+                    writeString(buf, r.targetEntity);
+                }
+            }
+        }
+        return buf.toByteArray();
+    }
+
+    private byte[] encodeQuarantined(List<QuarantinedFile> quarantined) {
+        Buffer buf = new Buffer();
+        writeSize(buf, quarantined);
+        if (quarantined == null) return buf.toByteArray();
+
+        for (QuarantinedFile q : quarantined) {
+            writeString(buf, q.file);
+            buf.writeVarlong(q.bytes);
+            writeString(buf, q.reason);
+        }
+        return buf.toByteArray();
+    }
+
+    private void writeDependencies(Buffer buf, List<DependencyInfo> dependencies) {
+        writeSize(buf, dependencies);
+        if (dependencies == null) return;
+
+        for (DependencyInfo d : dependencies) {
+            writeString(buf, d.type);
+            writeString(buf, d.name);
+        }
+    }
+
+    private void writeMethods(Buffer buf, List<MethodInfo> methods) {
+        writeSize(buf, methods);
+        if (methods == null) return;
+
+        for (MethodInfo m : methods) {
+            writeString(buf, m.name);
+            writeString(buf, m.returnType);
+            writeParameters(buf, m.parameters);
+        }
+    }
+
+    private void writeParameters(Buffer buf, List<ParameterInfo> parameters) {
+        writeSize(buf, parameters);
+        if (parameters == null) return;
+
+        for (ParameterInfo p : parameters) {
+            writeString(buf, p.name);
+            writeString(buf, p.type);
+            writeString(buf, p.annotation);
+        }
+    }
+
+    private void writeStrings(Buffer buf, List<String> values) {
+        writeSize(buf, values);
+        if (values == null) return;
+
+        for (String value : values) {
+            writeString(buf, value);
+        }
+    }
+
+    private void writeSize(Buffer buf, List<?> list) {
+        buf.writeVarint(list == null ? 0 : list.size() + 1);
+    }
+
+    private void writeString(Buffer buf, String value) {
+        if (value == null) {
+            buf.writeVarint(0);
+            return;
+        }
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            stringIndex.put(value, index);
+        }
+        buf.writeVarint(index + 1);
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+        Buffer() {
+            super(1 << 12);
+        }
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void writeVarlong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package dev.analyzer.cache;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import dev.analyzer.models.FileResult;
+import dev.analyzer.scanner.AtomicWrite;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AnalysisCache {
+
+    // Bump whenever the extracted models change shape or content
+    public static final String ANALYZER_VERSION = "5";
+
+    private static final Gson GSON = new Gson();
+
+    private final Path cacheFile;
+    private final String version;
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private int removed;
+
+    private AnalysisCache(Path cacheFile, String version) {
+        this.cacheFile = cacheFile;
+        this.version = version;
+    }
+
+    public static AnalysisCache load(Path cacheFile) {
+        return load(cacheFile, "");
+    }
+
+    // Options that change what is extracted get their own variant; switching them discards the cache
+    public static AnalysisCache load(Path cacheFile, String variant) {
+        AnalysisCache cache = new AnalysisCache(cacheFile, variant.isEmpty() ? currentVersion() : currentVersion() + "+" + variant);
+        if (!Files.exists(cacheFile)) {
+            return cache;
+        }
+
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            CacheFile stored = GSON.fromJson(reader, CacheFile.class);
+            if (stored != null && cache.version.equals(stored.analyzerVersion) && stored.entries != null) {
+                cache.entries.putAll(stored.entries);
+            } else {
+                System.out.println("Analyzer version changed, discarding cache: " + cacheFile);
+            }
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Ignoring unreadable cache: " + cacheFile + " - " + e.getMessage());
+        }
+        return cache;
+    }
+
+    // Fast path: trust the entry if size and modification time are unchanged
+    public FileResult lookup(String path, long size, long lastModified) {
+        CacheEntry entry = entries.get(path);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            hits.incrementAndGet();
+            return entry.result;
+        }
+        return null;
+    }
+
+    // Slow path: the file was touched, but its content may still be the same
+    public FileResult lookup(String path, long size, long lastModified, String hash) {
+        CacheEntry entry = entries.get(path);
+        if (entry != null && entry.hash.equals(hash)) {
+            entry.size = size;
+            entry.lastModified = lastModified;
+            hits.incrementAndGet();
+            return entry.result;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String path, long size, long lastModified, String hash, FileResult result) {
+        CacheEntry entry = new CacheEntry();
+        entry.size = size;
+        entry.lastModified = lastModified;
+        entry.hash = hash;
+        entry.result = result;
+        entries.put(path, entry);
+    }
+
+    // Drops entries for files that no longer exist in the project
+    public void retainAll(Collection<String> paths) {
+        Set<String> keep = new HashSet<>(paths);
+        int before = entries.size();
+        entries.keySet().retainAll(keep);
+        removed = before - entries.size();
+    }
+
+    public void save() throws IOException {
+        CacheFile stored = new CacheFile();
+        stored.analyzerVersion = version;
+        stored.entries = entries;
+
+        AtomicWrite.write(cacheFile, temp -> {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                GSON.toJson(stored, writer);
+            }
+        });
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    public String summary() {
+        return "Cache: " + getHits() + " hits, " + getMisses() + " misses, " + getRemoved() + " removed";
+    }
+
+    // Cached results are shared with the cache, so a caller that modifies one works on a copy
+    public static FileResult copy(FileResult result) {
+        return GSON.fromJson(GSON.toJsonTree(result), FileResult.class);
+    }
+
+    public static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A rebuilt analyzer jar gets a new size/mtime, which invalidates the cache even without a version bump
+    private static String currentVersion() {
+        String version = ANALYZER_VERSION;
+        try {
+            File codeSource = new File(AnalysisCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (codeSource.isFile()) {
+                version += "-" + codeSource.length() + "-" + codeSource.lastModified();
+            }
+        } catch (URISyntaxException | SecurityException | NullPointerException e) {
+            // Fall back to the declared version
+        }
+        return version;
+    }
+
+    private static class CacheFile {
+        String analyzerVersion;
+        Map<String, CacheEntry> entries;
+    }
+
+    private static class CacheEntry {
+        long size;
+        long lastModified;
+        String hash;
+        FileResult result;
+    }
+}
@@ -0,0 +1,26 @@
+package dev.analyzer.diff;
+
+public class ApiChange {
+    public String change;      // added, removed or changed
+    public String owner;       // declaring controller, service, repository or entity
+    public String name;        // "GET /users/{id}", method or field name
+    public String before;      // signature at the base revision; null when added
+    public String after;       // signature at the head revision; null when removed
+
+    ApiChange(String change, String owner, String name, String before, String after) {
+        this.change = change;
+        this.owner = owner;
+        this.name = name;
+        this.before = before;
+        this.after = after;
+    }
+
+    @Override
+    public String toString() {
+        switch (change) {
+            case "added": return "+ " + owner + " " + name + ": " + after;
+            case "removed": return "- " + owner + " " + name + ": " + before;
+            default: return "~ " + owner + " " + name + ": " + before + " -> " + after;
+        }
+    }
+}
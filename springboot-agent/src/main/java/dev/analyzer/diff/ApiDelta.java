@@ -0,0 +1,75 @@
+package dev.analyzer.diff;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import dev.analyzer.models.QuarantinedFile;
+import dev.analyzer.scanner.AtomicWrite;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// API-level changes between two revisions, computed from the changed source files only
+public class ApiDelta {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    public String base;        // commit ids both sides were read from
+    public String head;
+    public List<String> changedFiles = new ArrayList<>();
+    public List<ApiChange> endpoints = new ArrayList<>();
+    public List<ApiChange> serviceMethods = new ArrayList<>();
+    public List<ApiChange> repositoryMethods = new ArrayList<>();
+    public List<ApiChange> entityFields = new ArrayList<>();
+    public List<ApiChange> relationships = new ArrayList<>();
+    public List<QuarantinedFile> quarantined;
+
+    public int size() {
+        return endpoints.size() + serviceMethods.size() + repositoryMethods.size()
+                + entityFields.size() + relationships.size();
+    }
+
+    public String toJson() {
+        return GSON.toJson(this);
+    }
+
+    public void write(Path target) throws IOException {
+        AtomicWrite.write(target, temp -> {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                GSON.toJson(this, writer);
+            }
+        });
+        System.out.println("API diff saved to: " + target.toAbsolutePath());
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("API changes ").append(abbreviate(base)).append("..").append(abbreviate(head))
+                .append(" (").append(changedFiles.size()).append(" changed source files)\n");
+        section(sb, "Endpoints", endpoints);
+        section(sb, "Service methods", serviceMethods);
+        section(sb, "Repository methods", repositoryMethods);
+        section(sb, "Entity fields", entityFields);
+        section(sb, "Relationships", relationships);
+        if (size() == 0) {
+            sb.append("No API changes\n");
+        }
+        return sb.toString();
+    }
+
+    private static void section(StringBuilder sb, String title, List<ApiChange> changes) {
+        if (changes.isEmpty()) return;
+        sb.append(title).append(":\n");
+        for (ApiChange c : changes) {
+            sb.append("  ").append(c).append("\n");
+        }
+    }
+
+    private static String abbreviate(String commit) {
+        return commit != null && commit.length() > 10 ? commit.substring(0, 10) : commit;
+    }
+}
@@ -0,0 +1,239 @@
+package dev.analyzer.diff;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FieldInfo;
+import dev.analyzer.models.FileResult;
+import dev.analyzer.models.MethodInfo;
+import dev.analyzer.models.ParameterInfo;
+import dev.analyzer.models.QuarantinedFile;
+import dev.analyzer.models.RelationshipInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.ScanOptions;
+import dev.analyzer.scanner.SourceWalker;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// API delta between two revisions of a git repository. Only the .java files the diff reports are
+// read, at both revisions, straight from the object store; a class whose file did not change has
+// the same API on both sides, so the work grows with the change rather than with the project.
+// Endpoints are matched by HTTP method and path, everything else by declaring class and name.
+public class ApiDiff {
+
+    private static class Member {
+        final String owner;
+        final String name;
+        final String signature;
+
+        Member(String owner, String name, String signature) {
+            this.owner = owner;
+            this.name = name;
+            this.signature = signature;
+        }
+    }
+
+    public static ApiDelta diff(Path dir, String baseRef, String headRef, ScanOptions options) throws Exception {
+        long start = System.currentTimeMillis();
+        List<String> names = new ArrayList<>();
+        List<byte[]> sources = new ArrayList<>();
+        List<Boolean> baseSide = new ArrayList<>();
+        ApiDelta delta = new ApiDelta();
+
+        SourceWalker walker = new SourceWalker(dir, options);
+        try (GitRevisions git = new GitRevisions(dir)) {
+            delta.base = git.resolve(baseRef);
+            delta.head = git.resolve(headRef);
+            for (GitRevisions.ChangedFile file : git.changedFiles(delta.base, delta.head, "*.java")) {
+                if (!walker.isSource(dir.resolve(file.path))) continue;
+                delta.changedFiles.add(file.path);
+                if (file.existsInBase()) {
+                    add(names, sources, baseSide, baseRef + ":" + file.path, git.read(delta.base, file.path), true);
+                }
+                if (file.existsInHead()) {
+                    add(names, sources, baseSide, headRef + ":" + file.path, git.read(delta.head, file.path), false);
+                }
+            }
+        }
+
+        ProjectScanner scanner = new ProjectScanner(options);
+        FileResult[] results = new FileResult[sources.size()];
+        int threads = options.effectiveThreads();
+        if (threads <= 1 || results.length < 2) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = scanner.extractSource(names.get(i), sources.get(i));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.submit(() -> IntStream.range(0, results.length).parallel()
+                        .forEach(i -> results[i] = scanner.extractSource(names.get(i), sources.get(i)))).get();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        List<FileResult> before = new ArrayList<>();
+        List<FileResult> after = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            (baseSide.get(i) ? before : after).add(results[i]);
+        }
+        compare(before, after, delta);
+        List<QuarantinedFile> quarantined = scanner.getQuarantined();
+        delta.quarantined = quarantined.isEmpty() ? null : quarantined;
+
+        System.err.println("Compared " + delta.changedFiles.size() + " changed source files ("
+                + results.length + " revisions parsed) in " + (System.currentTimeMillis() - start) + " ms");
+        return delta;
+    }
+
+    private static void add(List<String> names, List<byte[]> sources, List<Boolean> baseSide,
+                            String name, byte[] source, boolean base) {
+        // A submodule or a path git could not find contributes nothing to its side
+        if (source == null) return;
+        names.add(name);
+        sources.add(source);
+        baseSide.add(base);
+    }
+
+    public static void compare(List<FileResult> before, List<FileResult> after, ApiDelta delta) {
+        compare(endpoints(before), endpoints(after), delta.endpoints);
+        compare(serviceMethods(before), serviceMethods(after), delta.serviceMethods);
+        compare(repositoryMethods(before), repositoryMethods(after), delta.repositoryMethods);
+        compare(entityFields(before), entityFields(after), delta.entityFields);
+        compare(relationships(before), relationships(after), delta.relationships);
+    }
+
+    // Members with the same key and signature on both sides cancel out. A key left with one
+    // member on each side (one overload edited) is a change, anything else is added or removed
+    private static void compare(Map<String, List<Member>> before, Map<String, List<Member>> after, List<ApiChange> changes) {
+        TreeSet<String> keys = new TreeSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        for (String key : keys) {
+            List<Member> removed = new ArrayList<>(before.getOrDefault(key, List.of()));
+            List<Member> added = new ArrayList<>(after.getOrDefault(key, List.of()));
+            for (Iterator<Member> it = removed.iterator(); it.hasNext(); ) {
+                if (removeSignature(added, it.next().signature)) it.remove();
+            }
+            if (removed.size() == 1 && added.size() == 1) {
+                Member b = removed.get(0);
+                Member a = added.get(0);
+                changes.add(new ApiChange("changed", a.owner, a.name, b.signature, a.signature));
+                continue;
+            }
+            for (Member m : removed) {
+                changes.add(new ApiChange("removed", m.owner, m.name, m.signature, null));
+            }
+            for (Member m : added) {
+                changes.add(new ApiChange("added", m.owner, m.name, null, m.signature));
+            }
+        }
+    }
+
+    private static boolean removeSignature(List<Member> members, String signature) {
+        for (Iterator<Member> it = members.iterator(); it.hasNext(); ) {
+            if (it.next().signature.equals(signature)) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, List<Member>> endpoints(List<FileResult> results) {
+        Map<String, List<Member>> members = new TreeMap<>();
+        for (FileResult result : results) {
+            for (ControllerInfo c : result.controllers) {
+                if (c.endpoints == null) continue;
+                for (EndpointInfo e : c.endpoints) {
+                    String route = e.httpMethod + " " + EndpointRef.joinPath(c.basePath, e.path);
+                    String signature = c.className + "." + signature(e.methodName, e.parameters, e.returnType);
+                    put(members, route, new Member(c.className, route, signature));
+                }
+            }
+        }
+        return members;
+    }
+
+    private static Map<String, List<Member>> serviceMethods(List<FileResult> results) {
+        Map<String, List<Member>> members = new TreeMap<>();
+        for (FileResult result : results) {
+            for (ServiceInfo s : result.services) {
+                methods(members, result, s.className, s.methods);
+            }
+        }
+        return members;
+    }
+
+    private static Map<String, List<Member>> repositoryMethods(List<FileResult> results) {
+        Map<String, List<Member>> members = new TreeMap<>();
+        for (FileResult result : results) {
+            for (RepositoryInfo r : result.repositories) {
+                methods(members, result, r.interfaceName, r.customMethods);
+            }
+        }
+        return members;
+    }
+
+    private static void methods(Map<String, List<Member>> members, FileResult result, String owner, List<MethodInfo> methods) {
+        if (methods == null) return;
+        for (MethodInfo m : methods) {
+            put(members, key(result, owner, m.name), new Member(owner, m.name, signature(m.name, m.parameters, m.returnType)));
+        }
+    }
+
+    private static Map<String, List<Member>> entityFields(List<FileResult> results) {
+        Map<String, List<Member>> members = new TreeMap<>();
+        for (FileResult result : results) {
+            for (EntityInfo e : result.entities) {
+                if (e.fields == null) continue;
+                for (FieldInfo f : e.fields) {
+                    String annotations = f.annotations == null ? "" : f.annotations.stream()
+                            .map(a -> "@" + a + " ").collect(Collectors.joining());
+                    put(members, key(result, e.className, f.name), new Member(e.className, f.name, annotations + f.type));
+                }
+            }
+        }
+        return members;
+    }
+
+    private static Map<String, List<Member>> relationships(List<FileResult> results) {
+        Map<String, List<Member>> members = new TreeMap<>();
+        for (FileResult result : results) {
+            for (EntityInfo e : result.entities) {
+                if (e.relationships == null) continue;
+                for (RelationshipInfo r : e.relationships) {
+                    put(members, key(result, e.className, r.fieldName), new Member(e.className, r.fieldName, "@" + r.type + " " + r.targetEntity));
+                }
+            }
+        }
+        return members;
+    }
+
+    // Owners are keyed with their package, so same-named classes in different packages stay apart
+    private static String key(FileResult result, String owner, String name) {
+        return (result.packageName != null ? result.packageName + "." : "") + owner + "#" + name;
+    }
+
+    private static void put(Map<String, List<Member>> members, String key, Member member) {
+        members.computeIfAbsent(key, k -> new ArrayList<>()).add(member);
+    }
+
+    private static String signature(String name, List<ParameterInfo> parameters, String returnType) {
+        String params = parameters == null ? "" : parameters.stream()
+                .map(ParameterInfo::toString).collect(Collectors.joining(", "));
+        return name + "(" + params + ") : " + returnType;
+    }
+}
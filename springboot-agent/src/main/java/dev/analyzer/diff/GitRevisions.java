@@ -0,0 +1,156 @@
+package dev.analyzer.diff;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads two revisions of a repository through the local git CLI without touching the working
+// tree: one diff lists the changed files, and a single long-running cat-file process serves
+// their contents (what git show <rev>:<path> prints, without a process per file). Paths are
+// relative to the directory the revisions are read from, which may be a subdirectory of the
+// repository.
+public class GitRevisions implements Closeable {
+
+    public static class ChangedFile {
+        public final char status;      // A, M, D or T, as in git diff --name-status
+        public final String path;
+
+        ChangedFile(char status, String path) {
+            this.status = status;
+            this.path = path;
+        }
+
+        public boolean existsInBase() {
+            return status != 'A';
+        }
+
+        public boolean existsInHead() {
+            return status != 'D';
+        }
+
+        @Override
+        public String toString() {
+            return status + " " + path;
+        }
+    }
+
+    private final Path dir;
+    private Process batch;
+    private OutputStream batchIn;
+    private DataInputStream batchOut;
+
+    public GitRevisions(Path dir) {
+        this.dir = dir.toAbsolutePath().normalize();
+    }
+
+    // The commit a branch, tag or expression points to, so both sides stay fixed while reading
+    public String resolve(String ref) throws IOException {
+        String commit = new String(run("rev-parse", "--verify", "--quiet", ref + "^{commit}"), StandardCharsets.UTF_8).trim();
+        if (commit.isEmpty()) {
+            throw new IOException("Unknown revision: " + ref);
+        }
+        return commit;
+    }
+
+    // Renames are reported as a deletion plus an addition, so both sides see every file involved
+    public List<ChangedFile> changedFiles(String base, String head, String pathspec) throws IOException {
+        byte[] out = run("diff", "--name-status", "-z", "--no-renames", "--relative", base, head, "--", pathspec);
+        List<ChangedFile> files = new ArrayList<>();
+        int start = 0;
+        char status = 0;
+        for (int i = 0; i < out.length; i++) {
+            if (out[i] != 0) continue;
+            String field = new String(out, start, i - start, StandardCharsets.UTF_8);
+            start = i + 1;
+            if (status == 0) {
+                status = field.charAt(0);
+            } else {
+                files.add(new ChangedFile(status, field));
+                status = 0;
+            }
+        }
+        return files;
+    }
+
+    // Contents of a file at a commit, or null when it does not exist there
+    public byte[] read(String commit, String path) throws IOException {
+        if (batch == null) {
+            batch = new ProcessBuilder("git", "-C", dir.toString(), "cat-file", "--batch")
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            batchIn = new BufferedOutputStream(batch.getOutputStream());
+            batchOut = new DataInputStream(new BufferedInputStream(batch.getInputStream(), 1 << 16));
+        }
+        batchIn.write((commit + ":./" + path + "\n").getBytes(StandardCharsets.UTF_8));
+        batchIn.flush();
+
+        // "<oid> blob <size>" followed by the contents and a newline, or "<name> missing"
+        String header = readLine(batchOut);
+        if (header.endsWith(" missing")) return null;
+        String[] parts = header.split(" ");
+        if (parts.length != 3) {
+            throw new IOException("Unexpected git cat-file output for " + path + ": " + header);
+        }
+        byte[] contents = new byte[Integer.parseInt(parts[2])];
+        batchOut.readFully(contents);
+        batchOut.readByte();
+        return contents;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (batch != null) {
+            batchIn.close();
+            try {
+                batch.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batch.destroy();
+            batch = null;
+        }
+    }
+
+    private byte[] run(String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of("git", "-C", dir.toString()));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        process.getOutputStream().close();
+        byte[] out;
+        try (InputStream in = process.getInputStream()) {
+            out = in.readAllBytes();
+        }
+        try {
+            int exit = process.waitFor();
+            // rev-parse --verify --quiet exits with 1 and no output for an unknown revision
+            if (exit != 0 && !(exit == 1 && out.length == 0 && "rev-parse".equals(args[0]))) {
+                throw new IOException("git " + args[0] + " failed with exit code " + exit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git " + args[0]);
+        }
+        return out;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(96);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) throw new IOException("git cat-file exited unexpectedly");
+            line.write(b);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -6,15 +6,25 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
 import com.github.javaparser.ast.expr.MemberValuePair;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
 import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.DependencyInfo;
 import dev.analyzer.models.EndpointInfo;
 import dev.analyzer.models.ParameterInfo;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class ControllerExtractor {
 
@@ -30,31 +40,68 @@ public class ControllerExtractor {
     }
 
     public static ControllerInfo extract(File file) throws Exception {
-        CompilationUnit cu = StaticJavaParser.parse(file);
+        return extract(StaticJavaParser.parse(file));
+    }
 
+    public static ControllerInfo extract(CompilationUnit cu) {
         ControllerInfo info = new ControllerInfo();
 
         cu.findAll(ClassOrInterfaceDeclaration.class).forEach(clazz -> {
-            // Check if it's a controller
-            boolean isController = clazz.getAnnotations().stream()
-                    .anyMatch(a -> a.getNameAsString().equals("RestController")
-                            || a.getNameAsString().equals("Controller"));
+            if (isController(clazz)) {
+                extract(clazz, info);
+            }
+        });
 
-            if (!isController) return;
+        return info;
+    }
 
-            info.className = clazz.getNameAsString();
-            info.basePath = extractClassLevelPath(clazz);
+    public static boolean isController(ClassOrInterfaceDeclaration clazz) {
+        return clazz.getAnnotations().stream()
+                .anyMatch(a -> a.getNameAsString().equals("RestController")
+                        || a.getNameAsString().equals("Controller"));
+    }
 
-            // Extract endpoints from methods
-            clazz.getMethods().forEach(method -> {
-                EndpointInfo endpoint = extractEndpoint(method);
-                if (endpoint != null) {
-                    info.endpoints.add(endpoint);
-                }
-            });
+    public static void extract(ClassOrInterfaceDeclaration clazz, ControllerInfo info) {
+        info.className = clazz.getNameAsString();
+        info.basePath = extractClassLevelPath(clazz);
+        info.dependencies.addAll(DependencyExtractor.extract(clazz));
+
+        // Extract endpoints from methods
+        clazz.getMethods().forEach(method -> {
+            EndpointInfo endpoint = extractEndpoint(method);
+            if (endpoint != null) {
+                endpoint.uses = dependenciesUsed(clazz, method, info.dependencies);
+                info.endpoints.add(endpoint);
+            }
         });
+    }
 
-        return info;
+    // The injected dependencies a handler refers to, directly or through the controller's own
+    // methods it calls, in declaration order. Local variables that shadow a dependency count too
+    private static List<String> dependenciesUsed(ClassOrInterfaceDeclaration clazz, MethodDeclaration handler,
+                                                 List<DependencyInfo> dependencies) {
+        Set<String> referenced = new HashSet<>();
+        Set<MethodDeclaration> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<MethodDeclaration> pending = new ArrayDeque<>();
+        visited.add(handler);
+        pending.add(handler);
+        while (!pending.isEmpty()) {
+            pending.poll().getBody().ifPresent(body -> {
+                body.findAll(NameExpr.class).forEach(n -> referenced.add(n.getNameAsString()));
+                body.findAll(FieldAccessExpr.class, f -> f.getScope().isThisExpr())
+                        .forEach(f -> referenced.add(f.getNameAsString()));
+                body.findAll(MethodCallExpr.class, c -> c.getScope().map(s -> s.isThisExpr()).orElse(true))
+                        .forEach(c -> clazz.getMethodsByName(c.getNameAsString()).forEach(m -> {
+                            if (visited.add(m)) pending.add(m);
+                        }));
+            });
+        }
+
+        List<String> uses = new ArrayList<>();
+        for (DependencyInfo dep : dependencies) {
+            if (referenced.contains(dep.name)) uses.add(dep.name);
+        }
+        return uses;
     }
 
     private static String extractClassLevelPath(ClassOrInterfaceDeclaration clazz) {
@@ -0,0 +1,91 @@
+package dev.analyzer.extractors;
+
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
+
+import dev.analyzer.models.DependencyInfo;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Collects the beans a component gets injected: annotated fields, the injection constructor
+// and fields filled by Lombok-generated constructors
+public class DependencyExtractor {
+
+    private static final Set<String> INJECT_ANNOTATIONS = Set.of("Autowired", "Inject", "Resource");
+
+    public static List<DependencyInfo> extract(ClassOrInterfaceDeclaration clazz) {
+        List<DependencyInfo> dependencies = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+
+        boolean requiredArgs = clazz.isAnnotationPresent("RequiredArgsConstructor");
+        boolean allArgs = clazz.isAnnotationPresent("AllArgsConstructor");
+
+        for (FieldDeclaration field : clazz.getFields()) {
+            if (field.isStatic() || isConfigValue(field)) continue;
+
+            boolean injected = isInjected(field)
+                    || allArgs
+                    || (requiredArgs && field.isFinal() && !hasInitializer(field))
+                    || (requiredArgs && field.isAnnotationPresent("NonNull"));
+            if (!injected) continue;
+
+            for (VariableDeclarator variable : field.getVariables()) {
+                add(dependencies, names, field.getElementType().asString(), variable.getNameAsString());
+            }
+        }
+
+        ConstructorDeclaration constructor = injectionConstructor(clazz);
+        if (constructor != null) {
+            for (Parameter param : constructor.getParameters()) {
+                if (isConfigValue(param)) continue;
+                add(dependencies, names, param.getTypeAsString(), param.getNameAsString());
+            }
+        }
+
+        return dependencies;
+    }
+
+    // Spring uses the only constructor, or the one marked for injection when there are several
+    private static ConstructorDeclaration injectionConstructor(ClassOrInterfaceDeclaration clazz) {
+        List<ConstructorDeclaration> constructors = clazz.getConstructors();
+        if (constructors.size() == 1) {
+            return constructors.get(0);
+        }
+        for (ConstructorDeclaration constructor : constructors) {
+            if (isInjected(constructor)) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    // A constructor parameter that just fills an injected field is the same dependency
+    private static void add(List<DependencyInfo> dependencies, Set<String> names, String type, String name) {
+        if (!names.add(name)) return;
+
+        DependencyInfo dep = new DependencyInfo();
+        dep.type = type;
+        dep.name = name;
+        dependencies.add(dep);
+    }
+
+    private static boolean isInjected(NodeWithAnnotations<?> node) {
+        return node.getAnnotations().stream().anyMatch(a -> INJECT_ANNOTATIONS.contains(a.getNameAsString()));
+    }
+
+    private static boolean isConfigValue(NodeWithAnnotations<?> node) {
+        return node.isAnnotationPresent("Value");
+    }
+
+    private static boolean hasInitializer(FieldDeclaration field) {
+        return field.getVariables().stream().anyMatch(v -> v.getInitializer().isPresent());
+    }
+}
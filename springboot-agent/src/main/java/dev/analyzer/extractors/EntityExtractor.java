@@ -2,10 +2,14 @@ package dev.analyzer.extractors;
 
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.expr.MemberValuePair;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.WildcardType;
 
 import dev.analyzer.models.EntityInfo;
 import dev.analyzer.models.FieldInfo;
@@ -14,6 +18,7 @@ import dev.analyzer.models.RelationshipInfo;
 import java.io.File;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 public class EntityExtractor {
 
@@ -22,35 +27,43 @@ public class EntityExtractor {
     );
 
     public static EntityInfo extract(File file) throws Exception {
-        CompilationUnit cu = StaticJavaParser.parse(file);
+        return extract(StaticJavaParser.parse(file));
+    }
 
+    public static EntityInfo extract(CompilationUnit cu) {
         EntityInfo info = new EntityInfo();
 
         cu.findAll(ClassOrInterfaceDeclaration.class).forEach(clazz -> {
-            boolean isEntity = clazz.getAnnotations().stream()
-                    .anyMatch(a -> a.getNameAsString().equals("Entity"));
-
-            if (!isEntity) return;
-
-            info.className = clazz.getNameAsString();
-            info.tableName = extractTableName(clazz);
-
-            clazz.getFields().forEach(field -> {
-                if (isRelationship(field)) {
-                    RelationshipInfo rel = extractRelationship(field);
-                    if (rel != null) {
-                        info.relationships.add(rel);
-                    }
-                } else {
-                    FieldInfo fieldInfo = extractField(field);
-                    info.fields.add(fieldInfo);
-                }
-            });
+            if (isEntity(clazz)) {
+                extract(clazz, info);
+            }
         });
 
         return info;
     }
 
+    public static boolean isEntity(ClassOrInterfaceDeclaration clazz) {
+        return clazz.getAnnotations().stream()
+                .anyMatch(a -> a.getNameAsString().equals("Entity"));
+    }
+
+    public static void extract(ClassOrInterfaceDeclaration clazz, EntityInfo info) {
+        info.className = clazz.getNameAsString();
+        info.tableName = extractTableName(clazz);
+
+        clazz.getFields().forEach(field -> {
+            if (isRelationship(field)) {
+                RelationshipInfo rel = extractRelationship(field);
+                if (rel != null) {
+                    info.relationships.add(rel);
+                }
+            } else {
+                FieldInfo fieldInfo = extractField(field);
+                info.fields.add(fieldInfo);
+            }
+        });
+    }
+
     private static String extractTableName(ClassOrInterfaceDeclaration clazz) {
         var tableAnn = clazz.getAnnotationByName("Table");
         if (tableAnn.isPresent() && tableAnn.get().isNormalAnnotationExpr()) {
@@ -87,20 +100,9 @@ public class EntityExtractor {
         RelationshipInfo info = new RelationshipInfo();
         info.fieldName = field.getVariables().get(0).getNameAsString();
 
-        // Get the target entity type
-        String fieldType = field.getElementType().asString();
-        if (fieldType.contains("List") || fieldType.contains("Set")) {
-            // Extract generic type: List<Order> -> Order
-            var variable = field.getVariables().get(0);
-            String fullType = variable.getTypeAsString();
-            int start = fullType.indexOf("<");
-            int end = fullType.indexOf(">");
-            if (start != -1 && end != -1) {
-                info.targetEntity = fullType.substring(start + 1, end);
-            }
-        } else {
-            info.targetEntity = fieldType;
-        }
+        // Get the target entity type: collections and maps point at their element type,
+        // so List<Order> -> Order and Map<Long, Set<Role>> -> Role
+        info.targetEntity = targetType(field.getVariables().get(0).getType());
 
         // Get relationship type
         for (AnnotationExpr ann : field.getAnnotations()) {
@@ -112,4 +114,24 @@ public class EntityExtractor {
 
         return info;
     }
+
+    private static String targetType(Type type) {
+        if (type.isArrayType()) {
+            return targetType(type.asArrayType().getComponentType());
+        }
+        if (type.isWildcardType()) {
+            WildcardType wildcard = type.asWildcardType();
+            Optional<? extends Type> bound = wildcard.getExtendedType().isPresent()
+                    ? wildcard.getExtendedType() : wildcard.getSuperType();
+            return bound.isPresent() ? targetType(bound.get()) : "Object";
+        }
+        if (type.isClassOrInterfaceType()) {
+            ClassOrInterfaceType classType = type.asClassOrInterfaceType();
+            if (classType.getTypeArguments().isPresent() && !classType.getTypeArguments().get().isEmpty()) {
+                NodeList<Type> arguments = classType.getTypeArguments().get();
+                return targetType(arguments.get(arguments.size() - 1));
+            }
+        }
+        return type.asString();
+    }
 }
\ No newline at end of file
@@ -17,32 +17,40 @@ import java.util.List;
 public class RepositoryExtractor {
 
     public static RepositoryInfo extract(File file) throws Exception {
-        CompilationUnit cu = StaticJavaParser.parse(file);
+        return extract(StaticJavaParser.parse(file));
+    }
 
+    public static RepositoryInfo extract(CompilationUnit cu) {
         RepositoryInfo info = new RepositoryInfo();
 
         cu.findAll(ClassOrInterfaceDeclaration.class).forEach(clazz -> {
-            if (!clazz.isInterface()) return;
+            if (isRepository(clazz)) {
+                extract(clazz, info);
+            }
+        });
 
-            boolean isRepository = clazz.getAnnotations().stream()
-                    .anyMatch(a -> a.getNameAsString().equals("Repository"))
-                    || extendsSpringRepository(clazz);
+        return info;
+    }
 
-            if (!isRepository) return;
+    public static boolean isRepository(ClassOrInterfaceDeclaration clazz) {
+        if (!clazz.isInterface()) return false;
 
-            info.interfaceName = clazz.getNameAsString();
+        return clazz.getAnnotations().stream()
+                .anyMatch(a -> a.getNameAsString().equals("Repository"))
+                || extendsSpringRepository(clazz);
+    }
 
-            // Extract entity and ID type from extends clause
-            extractGenericTypes(clazz, info);
+    public static void extract(ClassOrInterfaceDeclaration clazz, RepositoryInfo info) {
+        info.interfaceName = clazz.getNameAsString();
 
-            // Extract custom query methods
-            clazz.getMethods().forEach(method -> {
-                MethodInfo methodInfo = extractMethod(method);
-                info.customMethods.add(methodInfo);
-            });
-        });
+        // Extract entity and ID type from extends clause
+        extractGenericTypes(clazz, info);
 
-        return info;
+        // Extract custom query methods
+        clazz.getMethods().forEach(method -> {
+            MethodInfo methodInfo = extractMethod(method);
+            info.customMethods.add(methodInfo);
+        });
     }
 
     private static boolean extendsSpringRepository(ClassOrInterfaceDeclaration clazz) {
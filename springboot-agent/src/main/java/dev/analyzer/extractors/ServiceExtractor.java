@@ -3,10 +3,8 @@ package dev.analyzer.extractors;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 
-import dev.analyzer.models.DependencyInfo;
 import dev.analyzer.models.MethodInfo;
 import dev.analyzer.models.ParameterInfo;
 import dev.analyzer.models.ServiceInfo;
@@ -18,48 +16,39 @@ import java.util.List;
 public class ServiceExtractor {
 
     public static ServiceInfo extract(File file) throws Exception {
-        CompilationUnit cu = StaticJavaParser.parse(file);
+        return extract(StaticJavaParser.parse(file));
+    }
 
+    public static ServiceInfo extract(CompilationUnit cu) {
         ServiceInfo info = new ServiceInfo();
 
         cu.findAll(ClassOrInterfaceDeclaration.class).forEach(clazz -> {
-            boolean isService = clazz.getAnnotations().stream()
-                    .anyMatch(a -> a.getNameAsString().equals("Service"));
-
-            if (!isService) return;
-
-            info.className = clazz.getNameAsString();
-
-            // Extract dependencies
-            clazz.getFields().forEach(field -> {
-                DependencyInfo dep = extractDependency(field);
-                if (dep != null) {
-                    info.dependencies.add(dep);
-                }
-            });
-
-            // Extract methods
-            clazz.getMethods().forEach(method -> {
-                if (method.isPublic()) {
-                    MethodInfo methodInfo = extractMethod(method);
-                    info.methods.add(methodInfo);
-                }
-            });
+            if (isService(clazz)) {
+                extract(clazz, info);
+            }
         });
 
         return info;
     }
 
-    private static DependencyInfo extractDependency(FieldDeclaration field) {
-        boolean isInjected = field.getAnnotations().stream()
-                .anyMatch(a -> a.getNameAsString().equals("Autowired"));
+    public static boolean isService(ClassOrInterfaceDeclaration clazz) {
+        return clazz.getAnnotations().stream()
+                .anyMatch(a -> a.getNameAsString().equals("Service"));
+    }
+
+    public static void extract(ClassOrInterfaceDeclaration clazz, ServiceInfo info) {
+        info.className = clazz.getNameAsString();
 
-        if (!isInjected) return null;
+        // Extract dependencies (field and constructor injection)
+        info.dependencies.addAll(DependencyExtractor.extract(clazz));
 
-        DependencyInfo dep = new DependencyInfo();
-        dep.type = field.getElementType().asString();
-        dep.name = field.getVariables().get(0).getNameAsString();
-        return dep;
+        // Extract methods
+        clazz.getMethods().forEach(method -> {
+            if (method.isPublic()) {
+                MethodInfo methodInfo = extractMethod(method);
+                info.methods.add(methodInfo);
+            }
+        });
     }
 
     private static MethodInfo extractMethod(MethodDeclaration method) {
@@ -0,0 +1,111 @@
+package dev.analyzer.extractors;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FileResult;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+
+import java.util.ArrayList;
+
+public class StereotypeVisitor extends VoidVisitorAdapter<FileResult> {
+
+    private static final StereotypeVisitor INSTANCE = new StereotypeVisitor();
+
+    public static FileResult extract(CompilationUnit cu) {
+        return extract(cu, false);
+    }
+
+    // Walks the compilation unit once and hands every annotated type to the matching extractors.
+    // With symbols, the imports and declared types are recorded too, for resolving type names later
+    public static FileResult extract(CompilationUnit cu, boolean symbols) {
+        FileResult result = new FileResult();
+        cu.getPackageDeclaration().ifPresent(p -> result.packageName = p.getNameAsString());
+        if (symbols) {
+            result.imports = new ArrayList<>();
+            result.declaredTypes = new ArrayList<>();
+            for (ImportDeclaration imp : cu.getImports()) {
+                if (!imp.isStatic()) {
+                    result.imports.add(imp.getNameAsString() + (imp.isAsterisk() ? ".*" : ""));
+                }
+            }
+        }
+        cu.accept(INSTANCE, result);
+        return result;
+    }
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration clazz, FileResult result) {
+        String qualifiedName = declare(clazz, result);
+        if (ControllerExtractor.isController(clazz)) {
+            ControllerInfo info = new ControllerInfo();
+            ControllerExtractor.extract(clazz, info);
+            info.qualifiedName = qualifiedName;
+            result.controllers.add(info);
+        }
+        if (ServiceExtractor.isService(clazz)) {
+            ServiceInfo info = new ServiceInfo();
+            ServiceExtractor.extract(clazz, info);
+            info.qualifiedName = qualifiedName;
+            result.services.add(info);
+        }
+        if (RepositoryExtractor.isRepository(clazz)) {
+            RepositoryInfo info = new RepositoryInfo();
+            RepositoryExtractor.extract(clazz, info);
+            info.qualifiedName = qualifiedName;
+            result.repositories.add(info);
+        }
+        if (EntityExtractor.isEntity(clazz)) {
+            EntityInfo info = new EntityInfo();
+            EntityExtractor.extract(clazz, info);
+            info.qualifiedName = qualifiedName;
+            result.entities.add(info);
+        }
+
+        // Continue into nested types
+        super.visit(clazz, result);
+    }
+
+    @Override
+    public void visit(EnumDeclaration declaration, FileResult result) {
+        declare(declaration, result);
+        super.visit(declaration, result);
+    }
+
+    @Override
+    public void visit(RecordDeclaration declaration, FileResult result) {
+        declare(declaration, result);
+        super.visit(declaration, result);
+    }
+
+    @Override
+    public void visit(AnnotationDeclaration declaration, FileResult result) {
+        declare(declaration, result);
+        super.visit(declaration, result);
+    }
+
+    // Records the type when symbols are collected; local classes have no qualified name
+    private static String declare(TypeDeclaration<?> declaration, FileResult result) {
+        if (result.declaredTypes == null) return null;
+        String qualifiedName = declaration.getFullyQualifiedName().orElse(null);
+        if (qualifiedName != null) {
+            result.declaredTypes.add(qualifiedName);
+        }
+        return qualifiedName;
+    }
+
+    @Override
+    public void visit(BlockStmt block, FileResult result) {
+        // Method, constructor and initializer bodies never declare Spring components
+    }
+}
@@ -0,0 +1,314 @@
+package dev.analyzer.graph;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.DependencyInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.RelationshipInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Controller -> service -> repository -> entity graph, resolved from the recorded types.
+//
+// Nodes are numbered controllers first, then services, repositories and entities. Edges are
+// stored as int adjacency arrays (edgeStart[n]..edgeStart[n + 1] index into edgeTargets), and
+// the downstream traces of every controller and of each of its handlers are computed once, so
+// tracing an endpoint is a lookup. A handler's trace starts from the dependencies it uses.
+//
+// Types are looked up by qualified name when --resolve-types recorded one; a simple name only
+// resolves when a single node has it, so same-named classes in different packages stay apart.
+public class FlowGraph {
+
+    public enum Kind { CONTROLLER, SERVICE, REPOSITORY, ENTITY }
+
+    private static final int AMBIGUOUS = -2;
+
+    private final String[] names;
+    private final Kind[] kinds;
+    private final int[] edgeStart;
+    private final int[] edgeTargets;
+    private final Map<String, Integer> qualifiedIds = new HashMap<>();
+    private final Map<String, Integer> simpleIds = new HashMap<>();
+    private final FlowTrace[] traces;
+    private final List<Map<String, FlowTrace>> endpointTraces;
+
+    private FlowGraph(List<ControllerInfo> controllers, List<ServiceInfo> services,
+                      List<RepositoryInfo> repositories, List<EntityInfo> entities) {
+        int n = controllers.size() + services.size() + repositories.size() + entities.size();
+        names = new String[n];
+        kinds = new Kind[n];
+
+        int id = 0;
+        for (ControllerInfo c : controllers) id = addNode(id, c.className, c.qualifiedName, Kind.CONTROLLER);
+        for (ServiceInfo s : services) id = addNode(id, s.className, s.qualifiedName, Kind.SERVICE);
+        for (RepositoryInfo r : repositories) id = addNode(id, r.interfaceName, r.qualifiedName, Kind.REPOSITORY);
+        for (EntityInfo e : entities) id = addNode(id, e.className, e.qualifiedName, Kind.ENTITY);
+
+        List<int[]> adjacency = new ArrayList<>(n);
+        for (ControllerInfo c : controllers) adjacency.add(resolveDependencies(c.dependencies));
+        for (ServiceInfo s : services) adjacency.add(resolveDependencies(s.dependencies));
+        for (RepositoryInfo r : repositories) adjacency.add(resolveTypes(Collections.singletonList(r.entityType)));
+        for (EntityInfo e : entities) {
+            List<String> targets = new ArrayList<>();
+            if (e.relationships != null) {
+                for (RelationshipInfo rel : e.relationships) targets.add(rel.targetEntity);
+            }
+            adjacency.add(resolveTypes(targets));
+        }
+
+        edgeStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            edgeStart[i + 1] = edgeStart[i] + adjacency.get(i).length;
+        }
+        edgeTargets = new int[edgeStart[n]];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(adjacency.get(i), 0, edgeTargets, edgeStart[i], adjacency.get(i).length);
+        }
+
+        traces = new FlowTrace[controllers.size()];
+        endpointTraces = new ArrayList<>(controllers.size());
+        for (int c = 0; c < controllers.size(); c++) {
+            traces[c] = computeTrace(c, null);
+            endpointTraces.add(endpointTraces(c, controllers.get(c)));
+        }
+    }
+
+    // Overloads share a method name, and an EndpointRef carries no more than that, so their
+    // dependencies are merged. Handlers without recorded uses fall back to the controller trace
+    private Map<String, FlowTrace> endpointTraces(int controller, ControllerInfo c) {
+        if (c.endpoints == null || c.endpoints.isEmpty()) return Collections.emptyMap();
+        Map<String, Set<String>> usesByMethod = new HashMap<>();
+        for (EndpointInfo e : c.endpoints) {
+            if (e.uses == null || e.methodName == null) continue;
+            usesByMethod.computeIfAbsent(e.methodName, k -> new LinkedHashSet<>()).addAll(e.uses);
+        }
+
+        Map<String, FlowTrace> result = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : usesByMethod.entrySet()) {
+            List<DependencyInfo> used = new ArrayList<>();
+            if (c.dependencies != null) {
+                for (DependencyInfo dep : c.dependencies) {
+                    if (entry.getValue().contains(dep.name)) used.add(dep);
+                }
+            }
+            result.put(entry.getKey(), computeTrace(controller, resolveDependencies(used)));
+        }
+        return result;
+    }
+
+    public static FlowGraph build(List<ControllerInfo> controllers, List<ServiceInfo> services,
+                                  List<RepositoryInfo> repositories, List<EntityInfo> entities) {
+        return new FlowGraph(nonNull(controllers), nonNull(services), nonNull(repositories), nonNull(entities));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int id(String type) {
+        if (type == null) return -1;
+        Integer id = qualifiedIds.get(rawName(type));
+        if (id == null) id = simpleIds.get(simpleName(type));
+        return id != null && id >= 0 ? id : -1;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public Kind kind(int id) {
+        return kinds[id];
+    }
+
+    public int[] successors(int id) {
+        return Arrays.copyOfRange(edgeTargets, edgeStart[id], edgeStart[id + 1]);
+    }
+
+    public FlowTrace trace(String controller) {
+        int id = id(controller);
+        return id >= 0 && kinds[id] == Kind.CONTROLLER ? traces[id] : null;
+    }
+
+    // The handler's own trace when its body was analysed, otherwise its controller's
+    public FlowTrace trace(EndpointRef endpoint) {
+        if (endpoint == null) return null;
+        int id = id(endpoint.qualifiedController != null ? endpoint.qualifiedController : endpoint.controller);
+        if (id < 0 || kinds[id] != Kind.CONTROLLER) return null;
+        FlowTrace trace = endpoint.methodName != null ? endpointTraces.get(id).get(endpoint.methodName) : null;
+        return trace != null ? trace : traces[id];
+    }
+
+    private int addNode(int id, String name, String qualifiedName, Kind kind) {
+        names[id] = name;
+        kinds[id] = kind;
+        if (qualifiedName != null) {
+            qualifiedIds.putIfAbsent(qualifiedName, id);
+        }
+        if (name != null) {
+            simpleIds.merge(name, id, (a, b) -> AMBIGUOUS);
+        }
+        return id + 1;
+    }
+
+    private int[] resolveDependencies(List<DependencyInfo> dependencies) {
+        List<String> types = new ArrayList<>();
+        if (dependencies != null) {
+            for (DependencyInfo dep : dependencies) types.add(dep.type);
+        }
+        return resolveTypes(types);
+    }
+
+    private int[] resolveTypes(List<String> types) {
+        int[] targets = new int[types.size()];
+        int count = 0;
+        for (String type : types) {
+            int target = resolve(type);
+            if (target >= 0 && indexOf(targets, count, target) < 0) {
+                targets[count++] = target;
+            }
+        }
+        return Arrays.copyOf(targets, count);
+    }
+
+    // Qualified name, then a unique simple name, then the usual implementation names for an
+    // injected interface, then the element type of an injected collection
+    private int resolve(String type) {
+        if (type == null) return -1;
+
+        Integer qualified = qualifiedIds.get(rawName(type));
+        if (qualified != null) return qualified;
+        String simple = simpleName(type);
+        for (String candidate : new String[]{simple, simple + "Impl", "Default" + simple}) {
+            Integer id = simpleIds.get(candidate);
+            if (id != null) return id >= 0 ? id : -1;
+        }
+
+        int open = type.indexOf('<');
+        int close = type.lastIndexOf('>');
+        if (open >= 0 && close > open) {
+            for (String arg : splitTypeArguments(type.substring(open + 1, close))) {
+                int id = resolve(arg);
+                if (id >= 0) return id;
+            }
+        }
+        return -1;
+    }
+
+    // From firstHop instead of all the controller's edges when given
+    private FlowTrace computeTrace(int controller, int[] firstHop) {
+        int n = names.length;
+        int[] parent = new int[n];
+        Arrays.fill(parent, -2);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = controller;
+        parent[controller] = -1;
+        while (head < tail) {
+            int node = queue[head++];
+            int[] hops = node == controller && firstHop != null ? firstHop : null;
+            int from = hops != null ? 0 : edgeStart[node];
+            int to = hops != null ? hops.length : edgeStart[node + 1];
+            for (int e = from; e < to; e++) {
+                int next = hops != null ? hops[e] : edgeTargets[e];
+                if (parent[next] == -2) {
+                    parent[next] = node;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        FlowTrace trace = new FlowTrace();
+        trace.controller = names[controller];
+        trace.services = new ArrayList<>();
+        trace.repositories = new ArrayList<>();
+        trace.entities = new ArrayList<>();
+        trace.paths = new ArrayList<>();
+
+        boolean[] hasChild = new boolean[n];
+        for (int i = 1; i < tail; i++) {
+            hasChild[parent[queue[i]]] = true;
+        }
+
+        for (int i = 0; i < tail; i++) {
+            int node = queue[i];
+            switch (kinds[node]) {
+                case SERVICE: trace.services.add(names[node]); break;
+                case REPOSITORY: trace.repositories.add(names[node]); break;
+                case ENTITY: trace.entities.add(names[node]); break;
+                default: break;
+            }
+            // One path per leaf of the BFS tree
+            if (!hasChild[node]) {
+                trace.paths.add(pathTo(node, parent));
+            }
+        }
+        return trace;
+    }
+
+    private String pathTo(int node, int[] parent) {
+        List<String> chain = new ArrayList<>();
+        for (int cur = node; cur >= 0; cur = parent[cur]) {
+            chain.add(names[cur]);
+        }
+        Collections.reverse(chain);
+        return String.join(" -> ", chain);
+    }
+
+    private static int indexOf(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+
+    // com.acme.UserService -> UserService, Repo<User>[] -> Repo
+    public static String simpleName(String type) {
+        if (type == null) return null;
+        String raw = rawName(type);
+        int dot = raw.lastIndexOf('.');
+        return dot >= 0 ? raw.substring(dot + 1) : raw;
+    }
+
+    // com.acme.Repo<User>[] -> com.acme.Repo
+    private static String rawName(String type) {
+        String raw = type;
+        int generic = raw.indexOf('<');
+        if (generic >= 0) raw = raw.substring(0, generic);
+        int array = raw.indexOf('[');
+        if (array >= 0) raw = raw.substring(0, array);
+        return raw.trim();
+    }
+
+    static List<String> splitTypeArguments(String args) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < args.length(); i++) {
+            char c = args.charAt(i);
+            if (c == '<') depth++;
+            else if (c == '>') depth--;
+            else if (c == ',' && depth == 0) {
+                result.add(args.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        result.add(args.substring(start).trim());
+        return result;
+    }
+
+    private static <T> List<T> nonNull(List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+}
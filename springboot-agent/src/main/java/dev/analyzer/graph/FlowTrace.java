@@ -0,0 +1,16 @@
+package dev.analyzer.graph;
+
+import java.util.List;
+
+public class FlowTrace {
+    public String controller;
+    public List<String> services;
+    public List<String> repositories;
+    public List<String> entities;
+    public List<String> paths;      // e.g. "UserController -> UserService -> UserRepository -> User"
+
+    @Override
+    public String toString() {
+        return String.join("\n", paths);
+    }
+}
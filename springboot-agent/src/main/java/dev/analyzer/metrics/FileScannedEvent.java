@@ -0,0 +1,42 @@
+package dev.analyzer.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("dev.analyzer.FileScanned")
+@Label("File Scanned")
+@Description("One source file read, classified and, for stereotype matches, parsed and extracted")
+@Category({"Spring Boot Analyzer", "Scan"})
+@StackTrace(false)
+public class FileScannedEvent extends jdk.jfr.Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Read Time")
+    @Timespan
+    public long readNanos;
+
+    @Label("Classify Time")
+    @Timespan
+    public long classifyNanos;
+
+    @Label("Parse Time")
+    @Timespan
+    public long parseNanos;
+
+    @Label("Extract Time")
+    @Timespan
+    public long extractNanos;
+}
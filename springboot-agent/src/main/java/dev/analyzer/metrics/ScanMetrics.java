@@ -0,0 +1,265 @@
+package dev.analyzer.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import dev.analyzer.scanner.AtomicWrite;
+import jdk.jfr.EventType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Scan instrumentation. The scanner only creates one when --metrics is given or a JFR recording
+// has the analyzer events enabled; otherwise every hook is a null check and no clock is read
+public class ScanMetrics {
+
+    public enum Phase { WALK, READ, CLASSIFY, PARSE, EXTRACT, RESOLVE, SERIALIZE }
+
+    public enum Outcome { MATCHED, SKIPPED, CACHED, FAILED, QUARANTINED }
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    // Parse latency buckets: bucket i counts parses below 2^i microseconds
+    private static final int BUCKETS = 32;
+
+    private final int topN;
+    private final boolean jfrFiles;
+    private final boolean jfrPhases;
+    private final long startNanos = System.nanoTime();
+
+    private final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+    private final LongAdder bytes = new LongAdder();
+    private final AtomicLongArray parseHistogram = new AtomicLongArray(BUCKETS);
+    private final PriorityQueue<FileSample> slowest = new PriorityQueue<>(Comparator.comparingLong(s -> s.parseNanos));
+    private final PriorityQueue<FileSample> largest = new PriorityQueue<>(Comparator.comparingLong(s -> s.bytes));
+
+    public ScanMetrics(int topN) {
+        this.topN = topN;
+        this.jfrFiles = EventType.getEventType(FileScannedEvent.class).isEnabled();
+        this.jfrPhases = EventType.getEventType(ScanPhaseEvent.class).isEnabled();
+        for (int i = 0; i < phaseNanos.length; i++) phaseNanos[i] = new LongAdder();
+        for (int i = 0; i < outcomes.length; i++) outcomes[i] = new LongAdder();
+    }
+
+    // True when a running JFR recording wants the analyzer events
+    public static boolean jfrEnabled() {
+        return EventType.getEventType(FileScannedEvent.class).isEnabled()
+                || EventType.getEventType(ScanPhaseEvent.class).isEnabled();
+    }
+
+    public void recordPhase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()].add(nanos);
+        if (jfrPhases) {
+            ScanPhaseEvent event = new ScanPhaseEvent();
+            event.phase = phase.name().toLowerCase(Locale.ROOT);
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+
+    public FileTimer startFile() {
+        return new FileTimer();
+    }
+
+    // Splits one file's processing into the READ, CLASSIFY, PARSE and EXTRACT phases
+    public class FileTimer {
+        private final long[] nanos = new long[4];
+        private long mark = System.nanoTime();
+        private int current;
+
+        public void end(Phase phase) {
+            long now = System.nanoTime();
+            int index = phase.ordinal() - Phase.READ.ordinal();
+            nanos[index] += now - mark;
+            mark = now;
+            current = index + 1;
+        }
+
+        public void finish(String path, long size, Outcome outcome) {
+            // A failure is charged to the phase that was running when it happened
+            if ((outcome == Outcome.FAILED || outcome == Outcome.QUARANTINED) && current < nanos.length) {
+                nanos[current] += System.nanoTime() - mark;
+            }
+            recordFile(path, size, outcome, nanos[0], nanos[1], nanos[2], nanos[3]);
+        }
+    }
+
+    public void recordFile(String path, long size, Outcome outcome,
+                           long readNanos, long classifyNanos, long parseNanos, long extractNanos) {
+        outcomes[outcome.ordinal()].increment();
+        bytes.add(size);
+        phaseNanos[Phase.READ.ordinal()].add(readNanos);
+        phaseNanos[Phase.CLASSIFY.ordinal()].add(classifyNanos);
+        phaseNanos[Phase.PARSE.ordinal()].add(parseNanos);
+        phaseNanos[Phase.EXTRACT.ordinal()].add(extractNanos);
+
+        if (parseNanos > 0) {
+            long micros = parseNanos / 1000;
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            parseHistogram.incrementAndGet(bucket);
+        }
+
+        FileSample sample = new FileSample(path, size, parseNanos, outcome);
+        synchronized (this) {
+            offer(slowest, sample, parseNanos > 0);
+            offer(largest, sample, true);
+        }
+
+        if (jfrFiles) {
+            FileScannedEvent event = new FileScannedEvent();
+            event.path = path;
+            event.outcome = outcome.name().toLowerCase(Locale.ROOT);
+            event.bytes = size;
+            event.readNanos = readNanos;
+            event.classifyNanos = classifyNanos;
+            event.parseNanos = parseNanos;
+            event.extractNanos = extractNanos;
+            event.commit();
+        }
+    }
+
+    private void offer(PriorityQueue<FileSample> queue, FileSample sample, boolean eligible) {
+        if (!eligible || topN <= 0) return;
+        queue.add(sample);
+        if (queue.size() > topN) {
+            queue.poll();
+        }
+    }
+
+    public long count(Outcome outcome) {
+        return outcomes[outcome.ordinal()].sum();
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder("Scan metrics: ");
+        for (Outcome outcome : Outcome.values()) {
+            sb.append(outcome.name().toLowerCase(Locale.ROOT)).append('=').append(count(outcome)).append(' ');
+        }
+        for (Phase phase : Phase.values()) {
+            // Printed right after the scan, before anything has been serialized
+            if (phase == Phase.SERIALIZE) continue;
+            sb.append(phase.name().toLowerCase(Locale.ROOT)).append('=').append(millis(phaseNanos[phase.ordinal()].sum())).append("ms ");
+        }
+        return sb.toString().trim();
+    }
+
+    public synchronized Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("elapsedMillis", millis(System.nanoTime() - startNanos));
+
+        // Per-file phases are summed over worker threads, so they can exceed the elapsed time
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            phases.put(phase.name().toLowerCase(Locale.ROOT), millis(phaseNanos[phase.ordinal()].sum()));
+        }
+        report.put("phaseMillis", phases);
+
+        Map<String, Object> files = new LinkedHashMap<>();
+        long total = 0;
+        for (Outcome outcome : Outcome.values()) {
+            files.put(outcome.name().toLowerCase(Locale.ROOT), count(outcome));
+            total += count(outcome);
+        }
+        files.put("total", total);
+        files.put("bytes", bytes.sum());
+        report.put("files", files);
+
+        report.put("parseLatencyMicros", histogram());
+        report.put("slowestParses", sorted(slowest, Comparator.comparingLong((FileSample s) -> s.parseNanos).reversed()));
+        report.put("largestFiles", sorted(largest, Comparator.comparingLong((FileSample s) -> s.bytes).reversed()));
+        return report;
+    }
+
+    public void write(Path target) throws IOException {
+        Map<String, Object> report = report();
+        AtomicWrite.write(target, temp -> {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                GSON.toJson(report, writer);
+            }
+        });
+        System.out.println("Metrics saved to: " + target.toAbsolutePath());
+    }
+
+    private Map<String, Object> histogram() {
+        Map<String, Object> histogram = new LinkedHashMap<>();
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = parseHistogram.get(i);
+            total += counts[i];
+        }
+
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("below", 1L << i);
+            bucket.put("count", counts[i]);
+            buckets.add(bucket);
+        }
+        histogram.put("count", total);
+        histogram.put("p50", percentile(counts, total, 0.50));
+        histogram.put("p90", percentile(counts, total, 0.90));
+        histogram.put("p99", percentile(counts, total, 0.99));
+        histogram.put("buckets", buckets);
+        return histogram;
+    }
+
+    // Upper bound of the bucket holding the percentile
+    private static long percentile(long[] counts, long total, double p) {
+        long rank = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    private static List<Map<String, Object>> sorted(PriorityQueue<FileSample> queue, Comparator<FileSample> order) {
+        List<FileSample> samples = new ArrayList<>(queue);
+        samples.sort(order);
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (FileSample sample : samples) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("file", sample.path);
+            entry.put("bytes", sample.bytes);
+            entry.put("parseMillis", millis(sample.parseNanos));
+            entry.put("outcome", sample.outcome.name().toLowerCase(Locale.ROOT));
+            out.add(entry);
+        }
+        return out;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1e4) / 100.0;
+    }
+
+    private static class FileSample {
+        final String path;
+        final long bytes;
+        final long parseNanos;
+        final Outcome outcome;
+
+        FileSample(String path, long bytes, long parseNanos, Outcome outcome) {
+            this.path = path;
+            this.bytes = bytes;
+            this.parseNanos = parseNanos;
+            this.outcome = outcome;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.analyzer.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("dev.analyzer.ScanPhase")
+@Label("Scan Phase")
+@Description("Time spent in one whole-scan phase such as the file walk or serialization")
+@Category({"Spring Boot Analyzer", "Scan"})
+@StackTrace(false)
+public class ScanPhaseEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    public String phase;
+
+    @Label("Phase Time")
+    @Timespan
+    public long nanos;
+}
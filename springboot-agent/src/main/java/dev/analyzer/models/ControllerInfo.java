@@ -5,8 +5,10 @@ import java.util.List;
 
 public class ControllerInfo {
     public String className;
+    public String qualifiedName;   // only set by --resolve-types
     public String basePath;
     public List<EndpointInfo> endpoints = new ArrayList<>();
+    public List<DependencyInfo> dependencies = new ArrayList<>();
 
     @Override
     public String toString() {
@@ -17,6 +19,10 @@ public class ControllerInfo {
         for (EndpointInfo e : endpoints) {
             sb.append("  ").append(e).append("\n");
         }
+        sb.append("Dependencies:\n");
+        for (DependencyInfo d : dependencies) {
+            sb.append("  ").append(d).append("\n");
+        }
         return sb.toString();
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ public class EndpointInfo {
     public String methodName;
     public String returnType;
     public List<ParameterInfo> parameters;
+    public List<String> uses;      // controller dependencies the handler reaches; null with --signatures-only
 
     @Override
     public String toString() {
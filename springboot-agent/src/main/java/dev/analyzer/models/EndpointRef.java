@@ -0,0 +1,52 @@
+package dev.analyzer.models;
+
+public class EndpointRef {
+    public String controller;
+    public String qualifiedController;   // only set by --resolve-types
+    public String httpMethod;
+    public String path;        // basePath and endpoint path combined
+    public String methodName;
+    public String returnType;
+
+    public static EndpointRef of(ControllerInfo controller, EndpointInfo endpoint) {
+        return of(controller, endpoint, endpoint.httpMethod, joinPath(controller.basePath, endpoint.path));
+    }
+
+    public static EndpointRef of(ControllerInfo controller, EndpointInfo endpoint, String httpMethod, String path) {
+        EndpointRef ref = new EndpointRef();
+        ref.controller = controller.className;
+        ref.qualifiedController = controller.qualifiedName;
+        ref.httpMethod = httpMethod;
+        ref.path = path;
+        ref.methodName = endpoint.methodName;
+        ref.returnType = endpoint.returnType;
+        return ref;
+    }
+
+    public static String joinPath(String basePath, String path) {
+        String base = basePath == null ? "" : basePath.trim();
+        String rest = path == null ? "" : path.trim();
+
+        StringBuilder sb = new StringBuilder();
+        if (!base.isEmpty()) {
+            if (!base.startsWith("/")) sb.append('/');
+            sb.append(base);
+        }
+        if (!rest.isEmpty()) {
+            boolean slashEnd = sb.length() > 0 && sb.charAt(sb.length() - 1) == '/';
+            boolean slashStart = rest.startsWith("/");
+            if (slashEnd && slashStart) {
+                sb.append(rest, 1, rest.length());
+            } else {
+                if (!slashEnd && !slashStart) sb.append('/');
+                sb.append(rest);
+            }
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return httpMethod + " " + path + " -> " + controller + "." + methodName + "()";
+    }
+}
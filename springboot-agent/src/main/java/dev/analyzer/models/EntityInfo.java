@@ -5,6 +5,7 @@ import java.util.List;
 
 public class EntityInfo {
     public String className;
+    public String qualifiedName;   // only set by --resolve-types
     public String tableName;
     public List<FieldInfo> fields = new ArrayList<>();
     public List<RelationshipInfo> relationships = new ArrayList<>();
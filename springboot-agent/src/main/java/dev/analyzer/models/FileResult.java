@@ -0,0 +1,30 @@
+package dev.analyzer.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FileResult {
+    // Stored in place of results that are streamed to listeners but not retained
+    public static final FileResult EMPTY = new FileResult(List.of(), List.of(), List.of(), List.of());
+
+    public String packageName;
+    // Import declarations ("a.b.C", "a.b.*") and fully qualified names of the types the file
+    // declares; only recorded with --resolve-types, which indexes them after the scan
+    public List<String> imports;
+    public List<String> declaredTypes;
+    public List<ControllerInfo> controllers = new ArrayList<>();
+    public List<ServiceInfo> services = new ArrayList<>();
+    public List<RepositoryInfo> repositories = new ArrayList<>();
+    public List<EntityInfo> entities = new ArrayList<>();
+
+    public FileResult() {
+    }
+
+    private FileResult(List<ControllerInfo> controllers, List<ServiceInfo> services,
+                       List<RepositoryInfo> repositories, List<EntityInfo> entities) {
+        this.controllers = controllers;
+        this.services = services;
+        this.repositories = repositories;
+        this.entities = entities;
+    }
+}
@@ -0,0 +1,117 @@
+package dev.analyzer.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Memory-lean mode: interns every string through a SymbolTable and replaces the growable
+// ArrayLists with exact-size immutable lists (List.of shares one empty instance and needs no
+// backing array for one or two elements). The models are not modified after compaction.
+public class ModelCompactor {
+
+    private final SymbolTable symbols;
+
+    public ModelCompactor(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public FileResult compact(FileResult result) {
+        result.packageName = symbols.intern(result.packageName);
+        result.imports = internAll(result.imports);
+        result.declaredTypes = internAll(result.declaredTypes);
+        result.controllers = compactList(result.controllers, this::compact);
+        result.services = compactList(result.services, this::compact);
+        result.repositories = compactList(result.repositories, this::compact);
+        result.entities = compactList(result.entities, this::compact);
+        return result;
+    }
+
+    private void compact(ControllerInfo c) {
+        c.className = symbols.intern(c.className);
+        c.qualifiedName = symbols.intern(c.qualifiedName);
+        c.basePath = symbols.intern(c.basePath);
+        c.endpoints = compactList(c.endpoints, e -> {
+            e.httpMethod = symbols.intern(e.httpMethod);
+            e.path = symbols.intern(e.path);
+            e.methodName = symbols.intern(e.methodName);
+            e.returnType = symbols.intern(e.returnType);
+            e.parameters = compactList(e.parameters, this::compact);
+            e.uses = internAll(e.uses);
+        });
+        c.dependencies = compactList(c.dependencies, this::compact);
+    }
+
+    private void compact(ServiceInfo s) {
+        s.className = symbols.intern(s.className);
+        s.qualifiedName = symbols.intern(s.qualifiedName);
+        s.dependencies = compactList(s.dependencies, this::compact);
+        s.methods = compactList(s.methods, this::compact);
+    }
+
+    private void compact(RepositoryInfo r) {
+        r.interfaceName = symbols.intern(r.interfaceName);
+        r.qualifiedName = symbols.intern(r.qualifiedName);
+        r.entityType = symbols.intern(r.entityType);
+        r.idType = symbols.intern(r.idType);
+        r.customMethods = compactList(r.customMethods, this::compact);
+    }
+
+    private void compact(EntityInfo e) {
+        e.className = symbols.intern(e.className);
+        e.qualifiedName = symbols.intern(e.qualifiedName);
+        e.tableName = symbols.intern(e.tableName);
+        e.fields = compactList(e.fields, f -> {
+            f.name = symbols.intern(f.name);
+            f.type = symbols.intern(f.type);
+            f.annotations = internAll(f.annotations);
+        });
+        e.relationships = compactList(e.relationships, r -> {
+            r.type = symbols.intern(r.type);
+            r.fieldName = symbols.intern(r.fieldName);
+            r.targetEntity = symbols.intern(r.targetEntity);
+        });
+    }
+
+    private void compact(MethodInfo m) {
+        m.name = symbols.intern(m.name);
+        m.returnType = symbols.intern(m.returnType);
+        m.parameters = compactList(m.parameters, this::compact);
+    }
+
+    private void compact(ParameterInfo p) {
+        p.name = symbols.intern(p.name);
+        p.type = symbols.intern(p.type);
+        p.annotation = symbols.intern(p.annotation);
+    }
+
+    private void compact(DependencyInfo d) {
+        d.type = symbols.intern(d.type);
+        d.name = symbols.intern(d.name);
+    }
+
+    private List<String> internAll(List<String> values) {
+        if (values == null) return null;
+        List<String> interned = new ArrayList<>(values.size());
+        for (String value : values) {
+            interned.add(symbols.intern(value));
+        }
+        return copyOf(interned);
+    }
+
+    private static <T> List<T> compactList(List<T> items, Consumer<T> compactItem) {
+        if (items == null) return null;
+        for (T item : items) {
+            if (item != null) compactItem.accept(item);
+        }
+        return copyOf(items);
+    }
+
+    private static <T> List<T> copyOf(List<T> items) {
+        if (items.contains(null)) {
+            ArrayList<T> copy = new ArrayList<>(items);
+            copy.trimToSize();
+            return copy;
+        }
+        return List.copyOf(items);
+    }
+}
@@ -0,0 +1,18 @@
+package dev.analyzer.models;
+
+public class QuarantinedFile {
+    public String file;
+    public long bytes;
+    public String reason;
+
+    public QuarantinedFile(String file, long bytes, String reason) {
+        this.file = file;
+        this.bytes = bytes;
+        this.reason = reason;
+    }
+
+    @Override
+    public String toString() {
+        return file + " (" + bytes + " bytes): " + reason;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 public class RepositoryInfo {
     public String interfaceName;
+    public String qualifiedName;   // only set by --resolve-types
     public String entityType;
     public String idType;
     public List<MethodInfo> customMethods = new ArrayList<>();
@@ -5,6 +5,7 @@ import java.util.List;
 
 public class ServiceInfo {
     public String className;
+    public String qualifiedName;   // only set by --resolve-types
     public List<DependencyInfo> dependencies = new ArrayList<>();
     public List<MethodInfo> methods = new ArrayList<>();
 
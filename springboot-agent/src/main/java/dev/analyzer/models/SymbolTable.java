@@ -0,0 +1,19 @@
+package dev.analyzer.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Scan-wide string pool: every occurrence of String, Long or ResponseEntity<UserDto> shares one instance
+public class SymbolTable {
+
+    private final ConcurrentHashMap<String, String> symbols = new ConcurrentHashMap<>();
+
+    public String intern(String value) {
+        if (value == null) return null;
+        String existing = symbols.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return symbols.size();
+    }
+}
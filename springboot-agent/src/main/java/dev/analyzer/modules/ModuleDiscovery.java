@@ -0,0 +1,222 @@
+package dev.analyzer.modules;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Finds the modules of a Maven or Gradle build from its descriptors and each module's Java source root
+public class ModuleDiscovery {
+
+    // include ':a', include(":a") - not includeBuild or includeFlat
+    private static final Pattern GRADLE_INCLUDE = Pattern.compile("\\binclude(?=[\\s(])");
+    private static final Pattern GRADLE_STRING = Pattern.compile("['\"]([^'\"]+)['\"]");
+    private static final Pattern GRADLE_PROJECT_DIR = Pattern.compile(
+            "project\\s*\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)\\.projectDir\\s*=\\s*(?:file|new File)\\s*\\(\\s*(?:[^,)]*,\\s*)?['\"]([^'\"]+)['\"]\\s*\\)");
+
+    public static List<ModuleInfo> discover(Path root) throws IOException {
+        root = root.toAbsolutePath().normalize();
+        List<ModuleInfo> modules = new ArrayList<>();
+
+        if (Files.exists(root.resolve("settings.gradle")) || Files.exists(root.resolve("settings.gradle.kts"))) {
+            discoverGradle(root, modules);
+        } else if (Files.exists(root.resolve("pom.xml"))) {
+            discoverMaven(root, root, modules, new LinkedHashSet<>());
+        }
+
+        // Aggregator-only modules have nothing to scan
+        modules.removeIf(m -> m.sourceRoots.isEmpty());
+        uniqueNames(root, modules);
+
+        if (modules.isEmpty()) {
+            // Not a recognised multi-module build: one module covering the whole tree
+            ModuleInfo module = new ModuleInfo();
+            module.name = root.getFileName() != null ? root.getFileName().toString() : ".";
+            module.directory = root;
+            module.sourceRoots.add(root);
+            modules.add(module);
+        }
+        return modules;
+    }
+
+    // Results are keyed by module name, so modules sharing an artifactId in different directories
+    // get their directory added: common (billing/common), common (shipping/common)
+    private static void uniqueNames(Path root, List<ModuleInfo> modules) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (ModuleInfo module : modules) {
+            counts.merge(module.name, 1, Integer::sum);
+        }
+        for (ModuleInfo module : modules) {
+            if (counts.get(module.name) > 1) {
+                module.name = module.name + " (" + root.relativize(module.directory).toString().replace('\\', '/') + ")";
+            }
+        }
+    }
+
+    private static void discoverMaven(Path root, Path dir, List<ModuleInfo> modules, Set<Path> visited)
+            throws IOException {
+        Path pom = dir.resolve("pom.xml");
+        if (!visited.add(dir) || !Files.exists(pom)) return;
+
+        Document doc = parseXml(pom);
+        Element project = doc.getDocumentElement();
+
+        ModuleInfo module = new ModuleInfo();
+        String artifactId = childText(project, "artifactId");
+        module.name = artifactId != null ? artifactId : root.relativize(dir).toString();
+        module.directory = dir;
+
+        // A custom <build><sourceDirectory> replaces src/main/java
+        Element build = child(project, "build");
+        String sourceDirectory = build != null ? childText(build, "sourceDirectory") : null;
+        Path sourceRoot = sourceDirectory != null && !sourceDirectory.contains("${")
+                ? dir.resolve(sourceDirectory).normalize()
+                : dir.resolve("src/main/java");
+        if (Files.isDirectory(sourceRoot)) {
+            module.sourceRoots.add(sourceRoot);
+        }
+        modules.add(module);
+
+        // Modules can be declared at the top level and inside profiles
+        NodeList moduleNodes = doc.getElementsByTagName("module");
+        for (int i = 0; i < moduleNodes.getLength(); i++) {
+            Node parent = moduleNodes.item(i).getParentNode();
+            if (parent == null || !"modules".equals(parent.getNodeName())) continue;
+
+            String path = moduleNodes.item(i).getTextContent().trim();
+            if (path.isEmpty()) continue;
+            Path child = dir.resolve(path).normalize();
+            // <module> may point at a pom file rather than a directory
+            if (path.endsWith(".xml")) child = child.getParent();
+            discoverMaven(root, child, modules, visited);
+        }
+    }
+
+    private static void discoverGradle(Path root, List<ModuleInfo> modules) throws IOException {
+        Path settings = Files.exists(root.resolve("settings.gradle.kts"))
+                ? root.resolve("settings.gradle.kts")
+                : root.resolve("settings.gradle");
+        String text = stripComments(Files.readString(settings));
+
+        Map<String, String> projectDirs = new HashMap<>();
+        Matcher dirs = GRADLE_PROJECT_DIR.matcher(text);
+        while (dirs.find()) {
+            projectDirs.put(normalizeGradlePath(dirs.group(1)), dirs.group(2));
+        }
+
+        ModuleInfo rootModule = new ModuleInfo();
+        rootModule.name = ":";
+        rootModule.directory = root;
+        addSourceRoot(rootModule, root.resolve("src/main/java"));
+        modules.add(rootModule);
+
+        Matcher include = GRADLE_INCLUDE.matcher(text);
+        while (include.find()) {
+            Matcher names = GRADLE_STRING.matcher(includeArguments(text, include.end()));
+            while (names.find()) {
+                String projectPath = normalizeGradlePath(names.group(1));
+                String dir = projectDirs.getOrDefault(projectPath, projectPath.substring(1).replace(':', '/'));
+
+                ModuleInfo module = new ModuleInfo();
+                module.name = projectPath;
+                module.directory = root.resolve(dir).normalize();
+                addSourceRoot(module, module.directory.resolve("src/main/java"));
+                modules.add(module);
+            }
+        }
+    }
+
+    // The argument list after include: up to the matching parenthesis, or without parentheses up
+    // to the end of the line, continued onto the next line after a trailing comma
+    private static String includeArguments(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        if (i < text.length() && text.charAt(i) == '(') {
+            int depth = 0;
+            for (int j = i; j < text.length(); j++) {
+                char c = text.charAt(j);
+                if (c == '"' || c == '\'') {
+                    int close = text.indexOf(c, j + 1);
+                    j = close < 0 ? text.length() : close;
+                } else if (c == '(') {
+                    depth++;
+                } else if (c == ')' && --depth == 0) {
+                    return text.substring(i + 1, j);
+                }
+            }
+            return text.substring(i + 1);
+        }
+
+        int end = from;
+        while (true) {
+            int newline = text.indexOf('\n', end);
+            end = newline < 0 ? text.length() : newline;
+            if (newline < 0 || !text.substring(from, end).strip().endsWith(",")) break;
+            end++;
+        }
+        return text.substring(from, end);
+    }
+
+    private static void addSourceRoot(ModuleInfo module, Path sourceRoot) {
+        if (Files.isDirectory(sourceRoot)) {
+            module.sourceRoots.add(sourceRoot);
+        }
+    }
+
+    private static String normalizeGradlePath(String path) {
+        return path.startsWith(":") ? path : ":" + path;
+    }
+
+    private static String stripComments(String text) {
+        return text.replaceAll("(?s)/\\*.*?\\*/", "").replaceAll("(?m)//.*$", "");
+    }
+
+    private static Document parseXml(Path file) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            // Build files are untrusted input
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            // Not file.toFile(): the build may live inside a zip archive
+            try (InputStream in = Files.newInputStream(file)) {
+                return builder.parse(in, file.toString());
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not parse " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Element child(Element parent, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && node.getNodeName().equals(name)) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+
+    private static String childText(Element parent, String name) {
+        Element child = child(parent, name);
+        return child != null ? child.getTextContent().trim() : null;
+    }
+}
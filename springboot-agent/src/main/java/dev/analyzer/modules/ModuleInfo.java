@@ -0,0 +1,16 @@
+package dev.analyzer.modules;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ModuleInfo {
+    public String name;                 // artifactId for Maven, project path (":api:web") for Gradle
+    public Path directory;
+    public List<Path> sourceRoots = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        return name + " (" + directory + ", " + sourceRoots.size() + " source roots)";
+    }
+}
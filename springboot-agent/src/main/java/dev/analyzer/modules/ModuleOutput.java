@@ -0,0 +1,14 @@
+package dev.analyzer.modules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-module section of the analysis output; the full models stay in the top-level lists
+public class ModuleOutput {
+    public String name;
+    public String path;
+    public List<String> controllers = new ArrayList<>();
+    public List<String> services = new ArrayList<>();
+    public List<String> repositories = new ArrayList<>();
+    public List<String> entities = new ArrayList<>();
+}
@@ -0,0 +1,72 @@
+package dev.analyzer.resolve;
+
+import dev.analyzer.models.FileResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// What a simple type name can refer to inside one source file. Files with the same package and
+// imports are equal, so they share one memo in the TypeResolver; nested types are per-file and
+// deliberately left out of equals
+public class ImportContext {
+
+    final String packageName;
+    final Map<String, String> singleImports = new HashMap<>();
+    final List<String> wildcardImports = new ArrayList<>();
+    final Map<String, String> nestedTypes;
+
+    private final List<String> imports;
+    private final int hash;
+
+    private ImportContext(String packageName, List<String> imports, Map<String, String> nestedTypes) {
+        this.packageName = packageName;
+        this.imports = imports;
+        this.nestedTypes = nestedTypes;
+        for (String imp : imports) {
+            if (imp.endsWith(".*")) {
+                wildcardImports.add(imp.substring(0, imp.length() - 2));
+            } else {
+                singleImports.putIfAbsent(imp.substring(imp.lastIndexOf('.') + 1), imp);
+            }
+        }
+        this.hash = Objects.hash(packageName, imports);
+    }
+
+    public static ImportContext of(FileResult result) {
+        List<String> imports = result.imports != null ? result.imports : Collections.emptyList();
+
+        // Top-level types are found through the package; only nested ones need their own entry
+        Map<String, String> nestedTypes = Collections.emptyMap();
+        if (result.declaredTypes != null) {
+            String prefix = result.packageName != null ? result.packageName + "." : "";
+            for (String type : result.declaredTypes) {
+                if (type.indexOf('.', prefix.length()) >= 0) {
+                    if (nestedTypes.isEmpty()) nestedTypes = new HashMap<>();
+                    nestedTypes.putIfAbsent(type.substring(type.lastIndexOf('.') + 1), type);
+                }
+            }
+        }
+        return new ImportContext(result.packageName, imports, nestedTypes);
+    }
+
+    String inPackage(String simpleName) {
+        return packageName != null ? packageName + "." + simpleName : simpleName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImportContext)) return false;
+        ImportContext other = (ImportContext) o;
+        return hash == other.hash && Objects.equals(packageName, other.packageName) && imports.equals(other.imports);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,32 @@
+package dev.analyzer.resolve;
+
+import dev.analyzer.models.FileResult;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+// Every type declared in the project, by fully qualified name. Built once after the scan from the
+// per-file results and only read afterwards, so any number of threads can query it
+public class TypeIndex {
+
+    private final Set<String> types = new HashSet<>();
+
+    public static TypeIndex build(Collection<FileResult> results) {
+        TypeIndex index = new TypeIndex();
+        for (FileResult result : results) {
+            if (result.declaredTypes != null) {
+                index.types.addAll(result.declaredTypes);
+            }
+        }
+        return index;
+    }
+
+    public boolean contains(String qualifiedName) {
+        return types.contains(qualifiedName);
+    }
+
+    public int size() {
+        return types.size();
+    }
+}
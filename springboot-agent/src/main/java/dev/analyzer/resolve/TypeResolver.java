@@ -0,0 +1,175 @@
+package dev.analyzer.resolve;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.DependencyInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FieldInfo;
+import dev.analyzer.models.FileResult;
+import dev.analyzer.models.MethodInfo;
+import dev.analyzer.models.ParameterInfo;
+import dev.analyzer.models.RelationshipInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.models.SymbolTable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Rewrites the raw type text in the models to fully qualified names, the way javac looks a simple
+// name up: types nested in the same file, single-type imports, the file's own package, then
+// on-demand imports. Names it cannot place (java.lang, primitives, type variables, types from
+// unimported libraries) are left as written. One resolver is shared by all worker threads; the
+// index is read-only and every resolved type text is memoized per import context, so files with
+// the same package and imports only pay for each distinct type once.
+public class TypeResolver {
+
+    // Simple or dotted names inside type text such as Map<String, List<a.b.Order>>
+    private static final Pattern NAME = Pattern.compile("[\\p{L}_$][\\p{L}\\p{N}_$]*(?:\\.[\\p{L}_$][\\p{L}\\p{N}_$]*)*");
+
+    private final TypeIndex index;
+    private final SymbolTable symbols;
+    private final Map<ImportContext, Map<String, String>> memos = new ConcurrentHashMap<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TypeResolver(TypeIndex index) {
+        this(index, null);
+    }
+
+    // With a symbol table, resolved names are interned like the rest of the lean model
+    public TypeResolver(TypeIndex index, SymbolTable symbols) {
+        this.index = index;
+        this.symbols = symbols;
+    }
+
+    // Resolves in place; already resolved names stay as they are, so a result can be resolved again
+    public void resolve(FileResult result) {
+        if (result.controllers.isEmpty() && result.services.isEmpty()
+                && result.repositories.isEmpty() && result.entities.isEmpty()) {
+            return;
+        }
+        ImportContext context = ImportContext.of(result);
+
+        for (ControllerInfo c : result.controllers) {
+            if (c.endpoints != null) {
+                for (EndpointInfo e : c.endpoints) {
+                    e.returnType = resolve(e.returnType, context);
+                    resolveParameters(e.parameters, context);
+                }
+            }
+            resolveDependencies(c.dependencies, context);
+        }
+        for (ServiceInfo s : result.services) {
+            resolveDependencies(s.dependencies, context);
+            resolveMethods(s.methods, context);
+        }
+        for (RepositoryInfo r : result.repositories) {
+            r.entityType = resolve(r.entityType, context);
+            r.idType = resolve(r.idType, context);
+            resolveMethods(r.customMethods, context);
+        }
+        for (EntityInfo e : result.entities) {
+            if (e.fields != null) {
+                for (FieldInfo f : e.fields) {
+                    f.type = resolve(f.type, context);
+                }
+            }
+            if (e.relationships != null) {
+                for (RelationshipInfo r : e.relationships) {
+                    r.targetEntity = resolve(r.targetEntity, context);
+                }
+            }
+        }
+    }
+
+    public String resolve(String type, ImportContext context) {
+        if (type == null) return null;
+        lookups.increment();
+        if (!context.nestedTypes.isEmpty()) {
+            return rewrite(type, context);
+        }
+        return memos.computeIfAbsent(context, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type, t -> rewrite(t, context));
+    }
+
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void resolveDependencies(List<DependencyInfo> dependencies, ImportContext context) {
+        if (dependencies == null) return;
+        for (DependencyInfo d : dependencies) {
+            d.type = resolve(d.type, context);
+        }
+    }
+
+    private void resolveMethods(List<MethodInfo> methods, ImportContext context) {
+        if (methods == null) return;
+        for (MethodInfo m : methods) {
+            m.returnType = resolve(m.returnType, context);
+            resolveParameters(m.parameters, context);
+        }
+    }
+
+    private void resolveParameters(List<ParameterInfo> parameters, ImportContext context) {
+        if (parameters == null) return;
+        for (ParameterInfo p : parameters) {
+            p.type = resolve(p.type, context);
+        }
+    }
+
+    private String rewrite(String type, ImportContext context) {
+        misses.increment();
+        Matcher m = NAME.matcher(type);
+        StringBuilder sb = null;
+        int last = 0;
+        while (m.find()) {
+            String name = m.group();
+            String resolved = resolveName(name, context);
+            if (resolved.equals(name)) continue;
+            if (sb == null) sb = new StringBuilder(type.length() + 32);
+            sb.append(type, last, m.start()).append(resolved);
+            last = m.end();
+        }
+        if (sb == null) return type;
+        sb.append(type, last, type.length());
+        return symbols != null ? symbols.intern(sb.toString()) : sb.toString();
+    }
+
+    // A dotted name is either already qualified or starts with a type (Outer.Inner)
+    private String resolveName(String name, ImportContext context) {
+        int dot = name.indexOf('.');
+        if (dot >= 0 && index.contains(name)) return name;
+
+        String resolved = resolveSimpleName(dot < 0 ? name : name.substring(0, dot), context);
+        if (resolved == null) return name;
+        return dot < 0 ? resolved : resolved + name.substring(dot);
+    }
+
+    private String resolveSimpleName(String simpleName, ImportContext context) {
+        String resolved = context.nestedTypes.get(simpleName);
+        if (resolved != null) return resolved;
+
+        resolved = context.singleImports.get(simpleName);
+        if (resolved != null) return resolved;
+
+        String inPackage = context.inPackage(simpleName);
+        if (index.contains(inPackage)) return inPackage;
+
+        for (String wildcard : context.wildcardImports) {
+            String candidate = wildcard + "." + simpleName;
+            if (index.contains(candidate)) return candidate;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,440 @@
+package dev.analyzer.routes;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// Segment trie per HTTP method for matching concrete request paths against endpoint templates.
+//
+// At every segment the candidates are tried in Spring's order of specificity: literal, then
+// regex-constrained or partial patterns ({id:\d+}, *.json, {name}.{ext}), then plain {var}, then *,
+// and finally ** / {*var}, which also match zero segments. A more specific branch that dead-ends
+// falls back to the next one, so a literal-heavy path costs one map lookup per segment.
+public class RouteIndex {
+
+    private final Map<String, Node> roots = new HashMap<>();
+    private int size;
+
+    public static RouteIndex build(List<ControllerInfo> controllers) {
+        RouteIndex index = new RouteIndex();
+        if (controllers == null) return index;
+
+        for (ControllerInfo controller : controllers) {
+            if (controller.endpoints == null) continue;
+            for (EndpointInfo endpoint : controller.endpoints) {
+                for (String httpMethod : splitArray(endpoint.httpMethod)) {
+                    for (String basePath : splitArray(controller.basePath)) {
+                        for (String path : splitArray(endpoint.path)) {
+                            String pattern = EndpointRef.joinPath(unescape(basePath), unescape(path));
+                            index.add(httpMethod, pattern, EndpointRef.of(controller, endpoint, httpMethod, pattern));
+                        }
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    // The first endpoint registered for a pattern wins, like an ambiguous mapping would at startup
+    public void add(String httpMethod, String pattern, EndpointRef endpoint) {
+        Node node = roots.computeIfAbsent(httpMethod.toUpperCase(Locale.ROOT), k -> new Node());
+        List<String> names = new ArrayList<>();
+
+        for (String text : segments(pattern)) {
+            Segment segment = Segment.parse(text);
+            if (segment.kind == Kind.PATTERN && !compiles(segment.key)) {
+                // Java can't compile this constraint (Spring may have been able to); match the
+                // variables unconstrained rather than losing the whole index
+                System.err.println("Warning: ignoring invalid regex in route " + httpMethod + " " + pattern);
+                segment = Segment.parse(Segment.withoutConstraints(text));
+            }
+            names.addAll(segment.names);
+
+            switch (segment.kind) {
+                case LITERAL:
+                    if (node.literals == null) node.literals = new HashMap<>();
+                    node = node.literals.computeIfAbsent(segment.key, k -> new Node());
+                    break;
+                case PATTERN:
+                    if (node.patterns == null) {
+                        node.patterns = new HashMap<>();
+                        node.patternOrder = new ArrayList<>();
+                    }
+                    Node child = node.patterns.get(segment.key);
+                    if (child == null) {
+                        child = new Node();
+                        child.regex = Pattern.compile(segment.key);
+                        child.specificity = segment;
+                        node.patterns.put(segment.key, child);
+                        insertBySpecificity(node.patternOrder, child);
+                    }
+                    node = child;
+                    break;
+                case VARIABLE:
+                    if (node.variable == null) node.variable = new Node();
+                    node = node.variable;
+                    break;
+                case WILDCARD:
+                    if (node.wildcard == null) node.wildcard = new Node();
+                    node = node.wildcard;
+                    break;
+                case CATCH_ALL:
+                    // Anything after ** is not matchable in Spring either
+                    if (node.catchAll == null) node.catchAll = new Node();
+                    node = node.catchAll;
+                    if (node.endpoint == null) {
+                        node.endpoint = endpoint;
+                        node.names = names.toArray(new String[0]);
+                        size++;
+                    }
+                    return;
+            }
+        }
+
+        if (node.endpoint == null) {
+            node.endpoint = endpoint;
+            node.names = names.toArray(new String[0]);
+            size++;
+        }
+    }
+
+    public RouteMatch match(String httpMethod, String path) {
+        Node root = roots.get(httpMethod.toUpperCase(Locale.ROOT));
+        if (root == null) return null;
+
+        int query = path.indexOf('?');
+        if (query >= 0) path = path.substring(0, query);
+
+        List<String> segments = segments(path);
+        List<String> captures = new ArrayList<>();
+        return match(root, segments, 0, captures);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private RouteMatch match(Node node, List<String> segments, int i, List<String> captures) {
+        if (i == segments.size()) {
+            if (node.endpoint != null) return result(node, captures);
+            if (node.catchAll != null && node.catchAll.endpoint != null) {
+                return catchAll(node.catchAll, segments, i, captures);
+            }
+            return null;
+        }
+
+        String segment = segments.get(i);
+        RouteMatch match;
+
+        if (node.literals != null) {
+            Node child = node.literals.get(segment);
+            if (child != null && (match = match(child, segments, i + 1, captures)) != null) return match;
+        }
+
+        if (node.patterns != null) {
+            for (Node child : node.patternOrder) {
+                Matcher m = child.regex.matcher(segment);
+                if (!m.matches()) continue;
+
+                int mark = captures.size();
+                for (int g = 1; g <= m.groupCount(); g++) {
+                    captures.add(m.group(g));
+                }
+                if ((match = match(child, segments, i + 1, captures)) != null) return match;
+                truncate(captures, mark);
+            }
+        }
+
+        if (node.variable != null) {
+            captures.add(segment);
+            if ((match = match(node.variable, segments, i + 1, captures)) != null) return match;
+            captures.remove(captures.size() - 1);
+        }
+
+        if (node.wildcard != null && (match = match(node.wildcard, segments, i + 1, captures)) != null) {
+            return match;
+        }
+
+        if (node.catchAll != null && node.catchAll.endpoint != null) {
+            return catchAll(node.catchAll, segments, i, captures);
+        }
+        return null;
+    }
+
+    private RouteMatch catchAll(Node node, List<String> segments, int i, List<String> captures) {
+        // {*path} captures the remainder including its leading slash
+        if (node.names.length > captures.size()) {
+            captures.add(i == segments.size() ? "" : "/" + String.join("/", segments.subList(i, segments.size())));
+        }
+        return result(node, captures);
+    }
+
+    private static RouteMatch result(Node node, List<String> captures) {
+        RouteMatch match = new RouteMatch();
+        match.endpoint = node.endpoint;
+        if (node.names.length == 0) {
+            match.variables = Collections.emptyMap();
+        } else {
+            match.variables = new LinkedHashMap<>();
+            for (int k = 0; k < node.names.length && k < captures.size(); k++) {
+                match.variables.put(node.names[k], captures.get(k));
+            }
+        }
+        return match;
+    }
+
+    // Fewer captures and wildcards first, then more literal text, as Spring orders patterns;
+    // equally specific patterns keep their registration order
+    private static void insertBySpecificity(List<Node> order, Node child) {
+        int i = order.size();
+        while (i > 0 && Segment.SPECIFICITY.compare(order.get(i - 1).specificity, child.specificity) > 0) i--;
+        order.add(i, child);
+    }
+
+    private static boolean compiles(String regex) {
+        try {
+            Pattern.compile(regex);
+            return true;
+        } catch (PatternSyntaxException e) {
+            return false;
+        }
+    }
+
+    private static void truncate(List<String> list, int size) {
+        while (list.size() > size) list.remove(list.size() - 1);
+    }
+
+    // Empty segments are dropped, so duplicate and trailing slashes don't matter
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int depth = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            char c = i < path.length() ? path.charAt(i) : '/';
+            if (c == '{') depth++;
+            else if (c == '}') depth = Math.max(0, depth - 1);
+            else if (c == '/' && depth == 0) {
+                if (i > start) segments.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    // Annotation arrays are recorded as "{ /a, /b }" and RequestMethod arrays as "{ GET, POST }"
+    static List<String> splitArray(String value) {
+        if (value == null) return Collections.singletonList("");
+
+        String trimmed = value.trim();
+        boolean isArray = trimmed.startsWith("{") && trimmed.endsWith("}")
+                && (trimmed.startsWith("{ ") || trimmed.contains(",") || trimmed.equals("{}"));
+        if (!isArray) return Collections.singletonList(trimmed);
+
+        List<String> items = new ArrayList<>();
+        for (String item : trimmed.substring(1, trimmed.length() - 1).split(",")) {
+            if (!item.isBlank()) items.add(item.trim());
+        }
+        return items.isEmpty() ? Collections.singletonList("") : items;
+    }
+
+    // Paths are recorded as Java source text, so regexes still carry their escapes (\\d)
+    private static String unescape(String path) {
+        return path.indexOf('\\') < 0 ? path : path.replace("\\\\", "\\");
+    }
+
+    private static class Node {
+        Map<String, Node> literals;
+        Map<String, Node> patterns;
+        List<Node> patternOrder;
+        Pattern regex;
+        Segment specificity;
+        Node variable;
+        Node wildcard;
+        Node catchAll;
+
+        EndpointRef endpoint;
+        String[] names;
+    }
+
+    private enum Kind { LITERAL, PATTERN, VARIABLE, WILDCARD, CATCH_ALL }
+
+    private static class Segment {
+        static final Comparator<Segment> SPECIFICITY = Comparator
+                .comparingInt((Segment s) -> s.names.size() + s.wildcards)
+                .thenComparing(s -> -s.literalLength);
+
+        Kind kind;
+        String key;
+        List<String> names = new ArrayList<>();
+        int wildcards;
+        int literalLength;
+
+        static Segment parse(String text) {
+            Segment segment = new Segment();
+
+            if (text.equals("**")) {
+                segment.kind = Kind.CATCH_ALL;
+                return segment;
+            }
+            if (text.equals("*")) {
+                segment.kind = Kind.WILDCARD;
+                return segment;
+            }
+            if (text.startsWith("{*") && text.endsWith("}")) {
+                segment.kind = Kind.CATCH_ALL;
+                segment.names.add(text.substring(2, text.length() - 1));
+                return segment;
+            }
+            if (text.indexOf('{') < 0 && text.indexOf('*') < 0 && text.indexOf('?') < 0) {
+                segment.kind = Kind.LITERAL;
+                segment.key = text;
+                return segment;
+            }
+            if (text.startsWith("{") && text.endsWith("}") && text.indexOf(':') < 0
+                    && text.indexOf('{', 1) < 0) {
+                segment.kind = Kind.VARIABLE;
+                segment.names.add(text.substring(1, text.length() - 1));
+                return segment;
+            }
+
+            // Anything else becomes one regex over the whole segment; variable names are kept
+            // out of the key so /{a:\d+} and /{b:\d+} share a node
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (c == '{') {
+                    flush(regex, literal);
+                    int end = closingBrace(text, i);
+                    String body = text.substring(i + 1, end);
+                    int colon = body.indexOf(':');
+                    segment.names.add(colon < 0 ? body : body.substring(0, colon));
+                    regex.append('(').append(colon < 0 ? "[^/]+?" : "(?:" + nonCapturing(body.substring(colon + 1)) + ")").append(')');
+                    i = end + 1;
+                } else if (c == '*') {
+                    flush(regex, literal);
+                    regex.append("[^/]*");
+                    segment.wildcards++;
+                    i++;
+                } else if (c == '?') {
+                    flush(regex, literal);
+                    regex.append("[^/]");
+                    segment.wildcards++;
+                    i++;
+                } else {
+                    literal.append(c);
+                    segment.literalLength++;
+                    i++;
+                }
+            }
+            flush(regex, literal);
+
+            segment.kind = Kind.PATTERN;
+            segment.key = regex.toString();
+            return segment;
+        }
+
+        private static void flush(StringBuilder regex, StringBuilder literal) {
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+
+        // match() reads one group per variable, so groups inside a constraint must not capture:
+        // (v1|v2) -> (?:v1|v2), and named groups lose their name. Escapes, quoted runs and
+        // character classes are copied as they are
+        static String nonCapturing(String regex) {
+            StringBuilder sb = new StringBuilder(regex.length() + 8);
+            boolean inClass = false;
+            int i = 0;
+            while (i < regex.length()) {
+                char c = regex.charAt(i);
+                if (c == '\\' && regex.startsWith("Q", i + 1)) {
+                    int end = regex.indexOf("\\E", i + 2);
+                    end = end < 0 ? regex.length() : end + 2;
+                    sb.append(regex, i, end);
+                    i = end;
+                    continue;
+                }
+                if (c == '\\') {
+                    sb.append(regex, i, Math.min(i + 2, regex.length()));
+                    i += 2;
+                    continue;
+                }
+                if (inClass) {
+                    inClass = c != ']';
+                } else if (c == '[') {
+                    inClass = true;
+                    // a ] straight after the opening bracket (or its negation) is a literal
+                    sb.append(c);
+                    i++;
+                    if (regex.startsWith("^", i)) sb.append(regex.charAt(i++));
+                    if (regex.startsWith("]", i)) sb.append(regex.charAt(i++));
+                    continue;
+                } else if (c == '(') {
+                    if (!regex.startsWith("?", i + 1)) {
+                        sb.append("(?:");
+                        i++;
+                        continue;
+                    }
+                    if (regex.startsWith("?<", i + 1) && !regex.startsWith("?<=", i + 1) && !regex.startsWith("?<!", i + 1)) {
+                        int close = regex.indexOf('>', i);
+                        if (close > 0) {
+                            sb.append("(?:");
+                            i = close + 1;
+                            continue;
+                        }
+                    }
+                }
+                sb.append(c);
+                i++;
+            }
+            return sb.toString();
+        }
+
+        // {id:\d+}.{ext} -> {id}.{ext}
+        static String withoutConstraints(String text) {
+            StringBuilder sb = new StringBuilder();
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (c != '{') {
+                    sb.append(c);
+                    i++;
+                    continue;
+                }
+                int end = closingBrace(text, i);
+                String body = text.substring(i + 1, end);
+                int colon = body.indexOf(':');
+                sb.append('{').append(colon < 0 ? body : body.substring(0, colon)).append('}');
+                i = end + 1;
+            }
+            return sb.toString();
+        }
+
+        // Regexes inside a variable may contain their own braces, e.g. {code:[a-z]{2}}
+        private static int closingBrace(String text, int open) {
+            int depth = 0;
+            for (int i = open; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '{') depth++;
+                else if (c == '}' && --depth == 0) return i;
+            }
+            return text.length() - 1;
+        }
+    }
+}
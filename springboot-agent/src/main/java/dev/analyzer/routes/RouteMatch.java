@@ -0,0 +1,15 @@
+package dev.analyzer.routes;
+
+import dev.analyzer.models.EndpointRef;
+
+import java.util.Map;
+
+public class RouteMatch {
+    public EndpointRef endpoint;
+    public Map<String, String> variables;
+
+    @Override
+    public String toString() {
+        return endpoint + " " + variables;
+    }
+}
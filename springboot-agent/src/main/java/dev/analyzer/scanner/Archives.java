@@ -0,0 +1,55 @@
+package dev.analyzer.scanner;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Zip archives and source jars are read in place through the zip FileSystem; nothing is extracted
+public class Archives {
+
+    private static final String[] BUILD_FILES = {"pom.xml", "settings.gradle", "settings.gradle.kts", "build.gradle", "build.gradle.kts"};
+
+    public static boolean isArchive(Path path) {
+        String name = path.getFileName() != null ? path.getFileName().toString().toLowerCase(Locale.ROOT) : "";
+        return Files.isRegularFile(path) && (name.endsWith(".zip") || name.endsWith(".jar"));
+    }
+
+    public static FileSystem open(Path archive) throws IOException {
+        return FileSystems.newFileSystem(archive);
+    }
+
+    // Uploaded zips usually wrap the project in a top-level folder. The shallowest directory with a
+    // build file wins, then the project around the shallowest src/main/java; a source jar has
+    // neither and is scanned from its root
+    public static Path findProjectRoot(FileSystem archive) throws IOException {
+        Path top = archive.getRootDirectories().iterator().next();
+        List<Path> dirs;
+        try (Stream<Path> paths = Files.walk(top)) {
+            dirs = paths.filter(Files::isDirectory)
+                    .sorted(Comparator.comparingInt(Path::getNameCount))
+                    .collect(Collectors.toList());
+        }
+
+        for (Path dir : dirs) {
+            for (String buildFile : BUILD_FILES) {
+                if (Files.isRegularFile(dir.resolve(buildFile))) {
+                    return dir;
+                }
+            }
+        }
+        for (Path dir : dirs) {
+            if (dir.endsWith("src/main/java")) {
+                Path project = dir.getParent().getParent().getParent();
+                return project != null ? project : top;
+            }
+        }
+        return top;
+    }
+}
@@ -0,0 +1,29 @@
+package dev.analyzer.scanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Outputs are written next to their target and renamed into place, so readers never see a half-written file
+public class AtomicWrite {
+
+    public interface Body {
+        void write(Path temp) throws IOException;
+    }
+
+    public static void write(Path target, Body body) throws IOException {
+        target = target.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+
+        // Not Files.createTempFile: that would give the output owner-only permissions
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + ProcessHandle.current().pid()
+                + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            body.write(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
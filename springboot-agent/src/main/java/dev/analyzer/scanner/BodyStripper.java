@@ -0,0 +1,160 @@
+package dev.analyzer.scanner;
+
+import java.util.Arrays;
+
+import static dev.analyzer.scanner.StereotypePrefilter.isIdentifierPart;
+import static dev.analyzer.scanner.StereotypePrefilter.isIdentifierStart;
+import static dev.analyzer.scanner.StereotypePrefilter.skipBlockComment;
+import static dev.analyzer.scanner.StereotypePrefilter.skipLineComment;
+import static dev.analyzer.scanner.StereotypePrefilter.skipQuoted;
+import static dev.analyzer.scanner.StereotypePrefilter.skipTextBlock;
+
+// Empties every brace-balanced block that sits directly in a type body (method, constructor and
+// initializer bodies, plus anonymous classes and array initializers in field declarations), so the
+// parser only sees declarations. Newlines inside removed blocks are kept, so line numbers don't move.
+public class BodyStripper {
+
+    private static final int MAX_DEPTH = 256;
+
+    public static byte[] strip(byte[] src) {
+        int to = src.length;
+        byte[] out = new byte[to];
+        int length = 0;
+
+        // typeBody[d] is true when the brace at depth d opened a class, interface, enum or record body
+        boolean[] typeBody = new boolean[MAX_DEPTH];
+        int depth = 0;
+        int parens = 0;
+        boolean pendingType = false;
+        byte previous = 0;
+
+        int i = 0;
+        while (i < to) {
+            byte c = src[i];
+            int start = i;
+
+            if (c == '/' && i + 1 < to && src[i + 1] == '/') {
+                i = skipLineComment(src, i + 2, to);
+            } else if (c == '/' && i + 1 < to && src[i + 1] == '*') {
+                i = Math.min(to, skipBlockComment(src, i + 2, to));
+            } else if (c == '"') {
+                i = i + 2 < to && src[i + 1] == '"' && src[i + 2] == '"'
+                        ? skipTextBlock(src, i + 3, to)
+                        : skipQuoted(src, i + 1, to, (byte) '"');
+                previous = '"';
+            } else if (c == '\'') {
+                i = skipQuoted(src, i + 1, to, (byte) '\'');
+                previous = '\'';
+            } else if (isIdentifierStart(c)) {
+                while (i < to && isIdentifierPart(src[i])) i++;
+                // Foo.class is an expression, not a declaration
+                if (previous != '.' && isTypeKeyword(src, start, i)) {
+                    pendingType = true;
+                }
+                previous = 'a';
+            } else if (c == '(') {
+                parens++;
+                previous = c;
+                i++;
+            } else if (c == ')') {
+                parens = Math.max(0, parens - 1);
+                previous = c;
+                i++;
+            } else if (c == ';') {
+                pendingType = false;
+                previous = c;
+                i++;
+            } else if (c == '{') {
+                boolean inTypeBody = depth > 0 && depth <= MAX_DEPTH && typeBody[depth - 1];
+                if (pendingType || !inTypeBody || parens > 0 || depth >= MAX_DEPTH) {
+                    if (depth < MAX_DEPTH) {
+                        typeBody[depth] = pendingType;
+                    }
+                    depth++;
+                    pendingType = false;
+                    previous = c;
+                    i++;
+                } else {
+                    // A member-level block: keep the braces, drop everything in between except newlines
+                    int end = skipBlock(src, i + 1, to);
+                    if (end < 0) {
+                        // Unbalanced input: let the parser report it on the original content
+                        return src;
+                    }
+                    out[length++] = '{';
+                    for (int k = i + 1; k < end - 1; k++) {
+                        if (src[k] == '\n') out[length++] = '\n';
+                    }
+                    out[length++] = '}';
+                    previous = '}';
+                    i = end;
+                    continue;
+                }
+            } else if (c == '}') {
+                depth = Math.max(0, depth - 1);
+                previous = c;
+                i++;
+            } else {
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    previous = c;
+                }
+                i++;
+            }
+
+            System.arraycopy(src, start, out, length, i - start);
+            length += i - start;
+        }
+
+        return Arrays.copyOf(out, length);
+    }
+
+    // Returns the index just past the brace that closes the block opened before i
+    private static int skipBlock(byte[] src, int i, int to) {
+        int depth = 1;
+        while (i < to) {
+            byte c = src[i];
+            if (c == '/' && i + 1 < to && src[i + 1] == '/') {
+                i = skipLineComment(src, i + 2, to);
+            } else if (c == '/' && i + 1 < to && src[i + 1] == '*') {
+                i = Math.min(to, skipBlockComment(src, i + 2, to));
+            } else if (c == '"') {
+                i = i + 2 < to && src[i + 1] == '"' && src[i + 2] == '"'
+                        ? skipTextBlock(src, i + 3, to)
+                        : skipQuoted(src, i + 1, to, (byte) '"');
+            } else if (c == '\'') {
+                i = skipQuoted(src, i + 1, to, (byte) '\'');
+            } else if (c == '{') {
+                depth++;
+                i++;
+            } else if (c == '}') {
+                i++;
+                if (--depth == 0) return i;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isTypeKeyword(byte[] src, int start, int end) {
+        switch (end - start) {
+            case 4:
+                return matches(src, start, "enum");
+            case 5:
+                return matches(src, start, "class");
+            case 6:
+                return matches(src, start, "record");
+            case 9:
+                return matches(src, start, "interface");
+            default:
+                return false;
+        }
+    }
+
+    private static boolean matches(byte[] src, int start, String keyword) {
+        for (int k = 0; k < keyword.length(); k++) {
+            if (src[start + k] != keyword.charAt(k)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package dev.analyzer.scanner;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Cooperative cancellation for parses: the parser pulls its input in small chunks, so failing a
+// read once the deadline has passed stops a runaway parse within one buffer of input
+public class DeadlineReader extends Reader {
+
+    private final Reader in;
+    private final long deadlineNanos;
+    private boolean expired;
+
+    public DeadlineReader(Reader in, long timeoutMillis) {
+        this.in = in;
+        this.deadlineNanos = System.nanoTime() + timeoutMillis * 1_000_000L;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            expired = true;
+            throw new IOException("Parse time limit exceeded");
+        }
+        return in.read(buffer, offset, length);
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,128 @@
+package dev.analyzer.scanner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// The .gitignore files in effect for one directory: its own rules chained to those of its parents.
+// Supports what project .gitignore files use in practice: comments, negation, directory-only
+// patterns, anchored patterns, *, ?, [...] and **. A deeper file and a later line take precedence,
+// as in git
+class IgnoreRules {
+
+    private static class Rule {
+        final Pattern pattern;
+        final boolean negated;
+        final boolean directoryOnly;
+
+        Rule(Pattern pattern, boolean negated, boolean directoryOnly) {
+            this.pattern = pattern;
+            this.negated = negated;
+            this.directoryOnly = directoryOnly;
+        }
+    }
+
+    private final IgnoreRules parent;
+    private final String base;         // directory of the .gitignore relative to the walk root, "" or ending in /
+    private final List<Rule> rules;
+
+    private IgnoreRules(IgnoreRules parent, String base, List<Rule> rules) {
+        this.parent = parent;
+        this.base = base;
+        this.rules = rules;
+    }
+
+    // The parent rules when the directory has no (usable) .gitignore
+    static IgnoreRules load(IgnoreRules parent, Path dir, String relDir) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(dir.resolve(".gitignore"), StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            return parent;
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (String line : lines) {
+            Rule rule = parse(line);
+            if (rule != null) rules.add(rule);
+        }
+        return rules.isEmpty() ? parent : new IgnoreRules(parent, relDir.isEmpty() ? "" : relDir + "/", rules);
+    }
+
+    // relPath is relative to the walk root, with / separators
+    boolean isIgnored(String relPath, boolean directory) {
+        for (IgnoreRules level = this; level != null; level = level.parent) {
+            if (!relPath.startsWith(level.base)) continue;
+            String path = relPath.substring(level.base.length());
+            for (int i = level.rules.size() - 1; i >= 0; i--) {
+                Rule rule = level.rules.get(i);
+                if (rule.directoryOnly && !directory) continue;
+                if (rule.pattern.matcher(path).matches()) return !rule.negated;
+            }
+        }
+        return false;
+    }
+
+    private static Rule parse(String line) {
+        String p = line;
+        // Trailing spaces are ignored unless escaped
+        while (p.endsWith(" ") && !p.endsWith("\\ ")) p = p.substring(0, p.length() - 1);
+        if (p.isEmpty() || p.startsWith("#")) return null;
+
+        boolean negated = p.startsWith("!");
+        if (negated || p.startsWith("\\!") || p.startsWith("\\#")) p = p.substring(1);
+        boolean directoryOnly = p.endsWith("/");
+        if (directoryOnly) p = p.substring(0, p.length() - 1);
+        if (p.isEmpty()) return null;
+
+        // A slash anywhere but at the end ties the pattern to the .gitignore's directory;
+        // without one it matches a name at any depth
+        boolean anchored = p.indexOf('/') >= 0;
+        if (p.startsWith("/")) p = p.substring(1);
+        String regex = (anchored ? "" : "(?:.*/)?") + toRegex(p);
+        return new Rule(Pattern.compile(regex), negated, directoryOnly);
+    }
+
+    private static String toRegex(String glob) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                boolean leading = i == 0 || glob.charAt(i - 1) == '/';
+                boolean trailing = i + 2 == glob.length();
+                if (leading && i + 2 < glob.length() && glob.charAt(i + 2) == '/') {
+                    sb.append("(?:.*/)?");     // **/ matches any number of directories, including none
+                    i += 2;
+                } else if (leading && trailing) {
+                    sb.append(".*");           // trailing /** matches everything inside
+                    i++;
+                } else {
+                    sb.append("[^/]*");        // anywhere else ** is an ordinary *
+                    i++;
+                }
+            } else if (c == '*') {
+                sb.append("[^/]*");
+            } else if (c == '?') {
+                sb.append("[^/]");
+            } else if (c == '[') {
+                int end = glob.indexOf(']', i + 2);
+                if (end < 0) {
+                    sb.append("\\[");
+                    continue;
+                }
+                String set = glob.substring(i + 1, end);
+                if (set.startsWith("!")) set = "^" + set.substring(1);
+                sb.append('[').append(set.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+                i = end;
+            } else if (c == '\\' && i + 1 < glob.length()) {
+                sb.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else {
+                sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package dev.analyzer.scanner;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class JsonOutput {
+
+    private static final Gson PRETTY_GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson COMPACT_GSON = new Gson();
+
+    public static String toJson(ProjectOutput output) {
+        return PRETTY_GSON.toJson(output);
+    }
+
+    public static void write(ProjectOutput output, Path target, boolean compact, boolean gzip) throws IOException {
+        Gson gson = compact ? COMPACT_GSON : PRETTY_GSON;
+        target = target.toAbsolutePath();
+
+        HeapStats.resetPeaks();
+
+        // Stream straight into the file instead of building the whole document as a String first
+        AtomicWrite.write(target, temp -> {
+            OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16);
+            if (gzip) {
+                out = new GZIPOutputStream(out, 1 << 16);
+            }
+            try (JsonWriter writer = gson.newJsonWriter(
+                    new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16))) {
+                gson.toJson(output, ProjectOutput.class, writer);
+            }
+        });
+
+        System.out.println("Saved to: " + target + " (" + Files.size(target) / 1024 + " KB"
+                + ", peak heap during serialization " + HeapStats.megabytes(HeapStats.peakBytes()) + ")");
+    }
+
+    // Reads plain or gzipped analysis JSON
+    public static ProjectOutput read(Path source) throws IOException {
+        try (InputStream in = open(source);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return COMPACT_GSON.fromJson(reader, ProjectOutput.class);
+        }
+    }
+
+    private static InputStream open(Path source) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(source), 1 << 16);
+        in.mark(2);
+        int b1 = in.read();
+        int b2 = in.read();
+        in.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(in, 1 << 16);
+        }
+        return in;
+    }
+}
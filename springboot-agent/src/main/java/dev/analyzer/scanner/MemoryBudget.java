@@ -0,0 +1,40 @@
+package dev.analyzer.scanner;
+
+import java.util.concurrent.Semaphore;
+
+// Backpressure for in-flight parses. Each file reserves its estimated AST footprint before it is
+// read; once the budget is used up further workers wait until earlier parses release theirs
+public class MemoryBudget {
+
+    private static final long BYTES_PER_PERMIT = 1024;
+
+    // Estimated heap per byte of source: a full AST with tokens and comments is far larger than
+    // the text, a declarations-only parse much less so
+    private static final int FULL_FACTOR = 40;
+    private static final int LEAN_FACTOR = 15;
+
+    private final Semaphore permits;
+    private final int total;
+
+    public MemoryBudget(long bytes) {
+        this.total = (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / BYTES_PER_PERMIT));
+        this.permits = new Semaphore(total, true);
+    }
+
+    // Quarter of the maximum heap
+    public static MemoryBudget fromHeap() {
+        return new MemoryBudget(Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    // A file larger than the whole budget still gets to run, alone
+    public int acquire(long sourceBytes, boolean lean) {
+        long estimate = sourceBytes * (lean ? LEAN_FACTOR : FULL_FACTOR) / BYTES_PER_PERMIT;
+        int needed = (int) Math.max(1, Math.min(total, estimate));
+        permits.acquireUninterruptibly(needed);
+        return needed;
+    }
+
+    public void release(int acquired) {
+        permits.release(acquired);
+    }
+}
@@ -0,0 +1,118 @@
+package dev.analyzer.scanner;
+
+import com.google.gson.Gson;
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FileResult;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// One JSON record per line: {"type":"controller","file":"src/main/java/...","value":{...}}.
+// As a ScanListener it writes each record as soon as its file is done and flushes per file
+public class NdjsonWriter implements ScanListener, Closeable {
+
+    private static final Gson GSON = new Gson();
+
+    private final Writer out;
+    private Path root;
+    private boolean dirty;
+
+    public NdjsonWriter(Writer out, Path root) {
+        this.out = out;
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public static NdjsonWriter open(Path target, Path root) throws IOException {
+        if (target.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+        }
+        return new NdjsonWriter(new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(target), StandardCharsets.UTF_8), 1 << 16), root);
+    }
+
+    @Override
+    public synchronized void onStart(Path root) {
+        // Archive scans resolve their root inside the archive
+        this.root = root;
+    }
+
+    @Override
+    public void onController(Path file, ControllerInfo controller) {
+        record("controller", file, controller);
+    }
+
+    @Override
+    public void onService(Path file, ServiceInfo service) {
+        record("service", file, service);
+    }
+
+    @Override
+    public void onRepository(Path file, RepositoryInfo repository) {
+        record("repository", file, repository);
+    }
+
+    @Override
+    public void onEntity(Path file, EntityInfo entity) {
+        record("entity", file, entity);
+    }
+
+    @Override
+    public void onError(Path file, Exception error) {
+        record("error", file, String.valueOf(error.getMessage()));
+    }
+
+    @Override
+    public synchronized void onProgress(int completed, int discovered) {
+        if (dirty) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dirty = false;
+        }
+    }
+
+    public void writeFile(Path file, FileResult result) {
+        result.controllers.forEach(c -> onController(file, c));
+        result.services.forEach(s -> onService(file, s));
+        result.repositories.forEach(r -> onRepository(file, r));
+        result.entities.forEach(e -> onEntity(file, e));
+    }
+
+    private synchronized void record(String type, Path file, Object value) {
+        try {
+            out.write("{\"type\":\"");
+            out.write(type);
+            out.write("\",\"file\":");
+            out.write(GSON.toJson(relative(file)));
+            out.write(",\"value\":");
+            GSON.toJson(value, out);
+            out.write("}\n");
+            dirty = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String relative(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        boolean inside = path.getFileSystem() == root.getFileSystem() && path.startsWith(root);
+        return (inside ? root.relativize(path) : path).toString().replace('\\', '/');
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
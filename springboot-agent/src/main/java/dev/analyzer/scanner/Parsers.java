@@ -0,0 +1,51 @@
+package dev.analyzer.scanner;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+
+import java.io.Reader;
+
+public class Parsers {
+
+    // JavaParser instances are not thread-safe, so each worker thread gets its own parser and configuration
+    private static final ThreadLocal<JavaParser> PARSERS = ThreadLocal.withInitial(() ->
+            new JavaParser(new ParserConfiguration()
+                    .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)));
+
+    // Declarations-only parsing needs neither comment attribution nor the token list
+    private static final ThreadLocal<JavaParser> LEAN_PARSERS = ThreadLocal.withInitial(() ->
+            new JavaParser(new ParserConfiguration()
+                    .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+                    .setAttributeComments(false)
+                    .setStoreTokens(false)));
+
+    public static CompilationUnit parse(String content) {
+        return parse(PARSERS.get(), content);
+    }
+
+    public static CompilationUnit parseLean(String content) {
+        return parse(LEAN_PARSERS.get(), content);
+    }
+
+    public static CompilationUnit parse(Reader content) {
+        return parse(PARSERS.get().parse(content));
+    }
+
+    public static CompilationUnit parseLean(Reader content) {
+        return parse(LEAN_PARSERS.get().parse(content));
+    }
+
+    private static CompilationUnit parse(JavaParser parser, String content) {
+        return parse(parser.parse(content));
+    }
+
+    private static CompilationUnit parse(ParseResult<CompilationUnit> result) {
+        if (!result.isSuccessful() || result.getResult().isEmpty()) {
+            throw new ParseProblemException(result.getProblems());
+        }
+        return result.getResult().get();
+    }
+}
@@ -2,8 +2,10 @@ package dev.analyzer.scanner;
 
 import dev.analyzer.models.ControllerInfo;
 import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.QuarantinedFile;
 import dev.analyzer.models.RepositoryInfo;
 import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.modules.ModuleOutput;
 
 import java.util.List;
 
@@ -13,6 +15,12 @@ public class ProjectOutput {
     public List<RepositoryInfo> repositories;
     public List<EntityInfo> entities;
 
+    // Only set for module-aware scans
+    public List<ModuleOutput> modules;
+
+    // Files left out because they exceeded a scan limit; only set when there are any
+    public List<QuarantinedFile> quarantined;
+
     public ProjectOutput(
             List<ControllerInfo> controllers,
             List<ServiceInfo> services,
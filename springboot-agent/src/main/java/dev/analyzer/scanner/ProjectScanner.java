@@ -1,95 +1,634 @@
 package dev.analyzer.scanner;
 
-import dev.analyzer.extractors.ControllerExtractor;
-import dev.analyzer.extractors.EntityExtractor;
-import dev.analyzer.extractors.RepositoryExtractor;
-import dev.analyzer.extractors.ServiceExtractor;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.CompilationUnit;
+import dev.analyzer.binary.BinaryConverter;
+import dev.analyzer.binary.BinaryWriter;
+import dev.analyzer.cache.AnalysisCache;
+import dev.analyzer.extractors.StereotypeVisitor;
+import dev.analyzer.graph.FlowGraph;
+import dev.analyzer.metrics.ScanMetrics;
 import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
 import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FileResult;
+import dev.analyzer.models.ModelCompactor;
+import dev.analyzer.models.QuarantinedFile;
 import dev.analyzer.models.RepositoryInfo;
 import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.models.SymbolTable;
+import dev.analyzer.modules.ModuleDiscovery;
+import dev.analyzer.modules.ModuleInfo;
+import dev.analyzer.modules.ModuleOutput;
+import dev.analyzer.resolve.TypeIndex;
+import dev.analyzer.resolve.TypeResolver;
+import dev.analyzer.routes.RouteIndex;
+import dev.analyzer.search.SymbolSearchIndex;
+import dev.analyzer.shards.ShardWriter;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Stream;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import java.io.FileWriter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class ProjectScanner {
 
+    // Files per task when scanning on a shared pool
+    private static final int SHARED_CHUNK = 32;
+
+    private final ScanOptions options;
+    private final ForkJoinPool sharedPool;
+
+    private Path root;
+    private SourceWalker walker;
+    private AnalysisCache cache;
+    private SymbolTable symbols;
+    private ModelCompactor compactor;
+    private ScanMetrics metrics;
+    private MemoryBudget memoryBudget;
+
+    // Keyed by project-relative path; a file leaves the list when it is extracted successfully
+    private final Map<String, QuarantinedFile> quarantine = new ConcurrentHashMap<>();
+
+    private final List<ScanListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger discovered = new AtomicInteger();
+    private List<ModuleInfo> modules = new ArrayList<>();
+
+    // Per-module, per-file results in walk order; the flat lists below are rebuilt from them
+    private final Map<String, Map<Path, FileResult>> moduleResults = new LinkedHashMap<>();
+
     private List<ControllerInfo> controllers = new ArrayList<>();
     private List<ServiceInfo> services = new ArrayList<>();
     private List<RepositoryInfo> repositories = new ArrayList<>();
     private List<EntityInfo> entities = new ArrayList<>();
+    private RouteIndex routeIndex = new RouteIndex();
+    private FlowGraph flowGraph = FlowGraph.build(null, null, null, null);
+
+    public ProjectScanner() {
+        this(new ScanOptions());
+    }
+
+    public ProjectScanner(ScanOptions options) {
+        this(options, null);
+    }
+
+    // With a shared pool (batch scans) the files are parsed on that pool, whatever options.threads
+    // says, and the pool is left running afterwards
+    public ProjectScanner(ScanOptions options, ForkJoinPool sharedPool) {
+        this.options = options;
+        this.sharedPool = sharedPool;
+    }
+
+    public void addListener(ScanListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ScanListener listener) {
+        listeners.remove(listener);
+    }
 
     public void scan(File projectRoot) throws Exception {
-        List<File> javaFiles = findJavaFiles(projectRoot);
+        scan(projectRoot.toPath());
+    }
+
+    // Accepts a project directory or a .zip/.jar archive, which is scanned without extracting it.
+    // The archive is closed again afterwards, so archive scans cannot be updated or rescanned
+    public void scan(Path input) throws Exception {
+        if (Archives.isArchive(input)) {
+            try (FileSystem archive = Archives.open(input)) {
+                Path projectRoot = Archives.findProjectRoot(archive);
+                System.out.println("Scanning archive " + input.getFileName() + " from " + projectRoot);
+                scanTree(projectRoot);
+            }
+        } else {
+            scanTree(input);
+        }
+    }
+
+    private void scanTree(Path projectRoot) throws Exception {
+        root = projectRoot.toAbsolutePath().normalize();
+        walker = new SourceWalker(root, options);
+        completed.set(0);
+        discovered.set(0);
+        for (ScanListener listener : listeners) {
+            listener.onStart(root);
+        }
+        modules = options.modules ? ModuleDiscovery.discover(root) : List.of(wholeTree(root));
+        cache = options.cachePath != null
+                ? AnalysisCache.load(Path.of(options.cachePath), cacheVariant(options)) : null;
+        symbols = options.leanModel ? new SymbolTable() : null;
+        compactor = options.leanModel ? new ModelCompactor(symbols) : null;
+        metrics = options.metricsPath != null || ScanMetrics.jfrEnabled() ? new ScanMetrics(options.metricsTopN) : null;
+        memoryBudget = options.memoryBudgetMb < 0 ? null
+                : options.memoryBudgetMb == 0 ? MemoryBudget.fromHeap()
+                : new MemoryBudget((long) options.memoryBudgetMb << 20);
+        quarantine.clear();
 
-        for (File file : javaFiles) {
-            String content = Files.readString(file.toPath());
+        if (options.modules) {
+            System.out.println("Discovered " + modules.size() + " modules");
+        }
+
+        moduleResults.clear();
+        scanModules(modules);
+        resolveTypes(allResults());
+        rebuildLists();
+
+        if (metrics != null) {
+            System.out.println(metrics.summary());
+        }
+        if (!quarantine.isEmpty()) {
+            System.out.println("Quarantined " + quarantine.size() + " files");
+        }
+
+        if (cache != null) {
+            cache.retainAll(allFiles().stream().map(p -> cacheKey(root, p)).collect(Collectors.toList()));
+            cache.save();
+            System.out.println(cache.summary());
+        }
+    }
+
+    // Re-walks and re-extracts one module; the other modules keep their results
+    public synchronized boolean rescanModule(String name) throws Exception {
+        for (ModuleInfo module : modules) {
+            if (module.name.equals(name)) {
+                scanModules(List.of(module));
+                resolveTypes(new ArrayList<>(moduleResults.get(name).entrySet()));
+                rebuildLists();
+                return true;
+            }
+        }
+        return false;
+    }
 
+    // Modules are independent scan units: each one walks its own source roots and its files are
+    // parsed on the same pool, so small modules don't wait behind large ones
+    private void scanModules(List<ModuleInfo> targets) throws Exception {
+        List<List<Path>> files = new ArrayList<>(Collections.nCopies(targets.size(), null));
+        FileResult[][] results = new FileResult[targets.size()][];
+
+        int threads = options.effectiveThreads();
+        if (sharedPool != null) {
+            scanShared(targets, files, results);
+        } else if (threads <= 1) {
+            for (int m = 0; m < targets.size(); m++) {
+                scanModule(targets.get(m), m, files, results, false);
+            }
+        } else {
+            // Each slot is written by exactly one worker, so merging in index order
+            // gives the same output as a sequential run
+            ForkJoinPool pool = new ForkJoinPool(threads);
             try {
-                if (isController(content)) {
-                    ControllerInfo info = ControllerExtractor.extract(file);
-                    if (info.className != null) {
-                        controllers.add(info);
-                    }
-                } else if (isService(content)) {
-                    ServiceInfo info = ServiceExtractor.extract(file);
-                    if (info.className != null) {
-                        services.add(info);
-                    }
-                } else if (isRepository(content)) {
-                    RepositoryInfo info = RepositoryExtractor.extract(file);
-                    if (info.interfaceName != null) {
-                        repositories.add(info);
+                pool.submit(() -> IntStream.range(0, targets.size()).parallel()
+                        .forEach(m -> scanModule(targets.get(m), m, files, results, true))).get();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        for (int m = 0; m < targets.size(); m++) {
+            Map<Path, FileResult> fileResults = new LinkedHashMap<>();
+            for (int i = 0; i < results[m].length; i++) {
+                fileResults.put(files.get(m).get(i), results[m][i]);
+            }
+            moduleResults.put(targets.get(m).name, fileResults);
+        }
+    }
+
+    // The shared pool serves several projects at once. Each module's files are submitted from this
+    // thread in small chunks rather than as one split task tree: workers only look at submitted
+    // tasks once their own queue is empty, so a tree would keep every worker on the first
+    // project, while chunks from all scanning projects come up in turn
+    private void scanShared(List<ModuleInfo> targets, List<List<Path>> files, FileResult[][] results) throws Exception {
+        List<ForkJoinTask<?>> chunks = new ArrayList<>();
+        for (int m = 0; m < targets.size(); m++) {
+            List<Path> javaFiles = walkModule(targets.get(m));
+            FileResult[] fileResults = new FileResult[javaFiles.size()];
+            files.set(m, javaFiles);
+            results[m] = fileResults;
+            for (int from = 0; from < fileResults.length; from += SHARED_CHUNK) {
+                int start = from;
+                int end = Math.min(from + SHARED_CHUNK, fileResults.length);
+                chunks.add(sharedPool.submit(() -> {
+                    for (int i = start; i < end; i++) {
+                        fileResults[i] = scanFile(root, javaFiles.get(i), cache);
                     }
-                } else if (isEntity(content)) {
-                    EntityInfo info = EntityExtractor.extract(file);
-                    if (info.className != null) {
-                        entities.add(info);
+                }));
+            }
+        }
+        for (ForkJoinTask<?> chunk : chunks) {
+            chunk.get();
+        }
+    }
+
+    private void scanModule(ModuleInfo module, int m, List<List<Path>> files, FileResult[][] results, boolean parallel) {
+        List<Path> javaFiles = walkModule(module);
+        FileResult[] fileResults = new FileResult[javaFiles.size()];
+        IntStream indexes = IntStream.range(0, fileResults.length);
+        (parallel ? indexes.parallel() : indexes)
+                .forEach(i -> fileResults[i] = scanFile(root, javaFiles.get(i), cache));
+        files.set(m, javaFiles);
+        results[m] = fileResults;
+    }
+
+    private List<Path> walkModule(ModuleInfo module) {
+        long walkStart = metrics != null ? System.nanoTime() : 0;
+        List<Path> javaFiles = findJavaFiles(module);
+        if (metrics != null) {
+            metrics.recordPhase(ScanMetrics.Phase.WALK, System.nanoTime() - walkStart);
+        }
+        discovered.addAndGet(javaFiles.size());
+        return javaFiles;
+    }
+
+    // Re-extracts only the given files after a scan; deleted files are dropped and new ones appended
+    public synchronized void update(Collection<Path> changedFiles) {
+        completed.set(0);
+        discovered.set(changedFiles.size());
+        Set<Path> updated = new HashSet<>();
+        for (Path file : changedFiles) {
+            if (Files.isRegularFile(file) && walker.isSource(file)) {
+                ModuleInfo module = moduleFor(file);
+                if (module != null) {
+                    moduleResults.computeIfAbsent(module.name, k -> new LinkedHashMap<>())
+                            .put(file, scanFile(root, file, cache));
+                    updated.add(file);
+                }
+            } else {
+                // A deleted or moved-out directory takes every file below it along
+                for (Map<Path, FileResult> fileResults : moduleResults.values()) {
+                    fileResults.keySet().removeIf(p -> p.startsWith(file));
+                }
+            }
+        }
+        resolveTypes(allResults().stream().filter(e -> updated.contains(e.getKey())).collect(Collectors.toList()));
+        rebuildLists();
+    }
+
+    public synchronized void saveCache() throws IOException {
+        if (cache != null) {
+            cache.retainAll(allFiles().stream().map(p -> cacheKey(root, p)).collect(Collectors.toList()));
+            cache.save();
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public SourceWalker getWalker() {
+        return walker;
+    }
+
+    public List<ModuleInfo> getModules() {
+        return modules;
+    }
+
+    public int getFileCount() {
+        return allFiles().size();
+    }
+
+    private List<Map.Entry<Path, FileResult>> allResults() {
+        List<Map.Entry<Path, FileResult>> results = new ArrayList<>();
+        for (Map<Path, FileResult> fileResults : moduleResults.values()) {
+            results.addAll(fileResults.entrySet());
+        }
+        return results;
+    }
+
+    private List<Path> allFiles() {
+        List<Path> files = new ArrayList<>();
+        for (Map<Path, FileResult> fileResults : moduleResults.values()) {
+            files.addAll(fileResults.keySet());
+        }
+        return files;
+    }
+
+    // The module whose source root most closely contains the file
+    private ModuleInfo moduleFor(Path file) {
+        ModuleInfo best = null;
+        int bestDepth = -1;
+        for (ModuleInfo module : modules) {
+            for (Path sourceRoot : module.sourceRoots) {
+                if (file.startsWith(sourceRoot) && sourceRoot.getNameCount() > bestDepth) {
+                    best = module;
+                    bestDepth = sourceRoot.getNameCount();
+                }
+            }
+        }
+        return best;
+    }
+
+    private static ModuleInfo wholeTree(Path root) {
+        ModuleInfo module = new ModuleInfo();
+        module.name = "";
+        module.directory = root;
+        module.sourceRoots.add(root);
+        return module;
+    }
+
+    // Resolves the given results against an index of every type in the project. Runs after the
+    // files are extracted, so the index is complete and read-only while the workers share it; a
+    // result that the cache also holds is resolved on a copy, so the cache keeps the source text
+    private void resolveTypes(List<Map.Entry<Path, FileResult>> targets) {
+        if (!options.resolveTypes || targets.isEmpty()) return;
+        long start = System.nanoTime();
+
+        List<FileResult> all = allResults().stream().map(Map.Entry::getValue).collect(Collectors.toList());
+        TypeIndex index = TypeIndex.build(all);
+        TypeResolver resolver = new TypeResolver(index, symbols);
+
+        int threads = options.effectiveThreads();
+        if (threads <= 1 && sharedPool == null) {
+            targets.forEach(e -> e.setValue(resolveFile(resolver, e.getValue())));
+        } else {
+            // Each worker replaces the value of its own entry; the maps themselves are not modified
+            ForkJoinPool pool = sharedPool != null ? sharedPool : new ForkJoinPool(threads);
+            try {
+                pool.invoke(ForkJoinTask.adapt(() -> targets.parallelStream()
+                        .forEach(e -> e.setValue(resolveFile(resolver, e.getValue())))));
+            } finally {
+                if (pool != sharedPool) pool.shutdown();
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (metrics != null) {
+            metrics.recordPhase(ScanMetrics.Phase.RESOLVE, elapsed);
+        }
+        System.out.println("Resolved " + resolver.getLookups() + " type references against " + index.size()
+                + " types in " + elapsed / 1_000_000 + " ms (" + resolver.getMisses() + " distinct)");
+    }
+
+    private FileResult resolveFile(TypeResolver resolver, FileResult result) {
+        if (result == FileResult.EMPTY) return result;
+        if (cache != null) {
+            result = AnalysisCache.copy(result);
+            if (compactor != null) {
+                result = compactor.compact(result);
+            }
+        }
+        resolver.resolve(result);
+        return result;
+    }
+
+    private void rebuildLists() {
+        ArrayList<ControllerInfo> controllers = new ArrayList<>();
+        ArrayList<ServiceInfo> services = new ArrayList<>();
+        ArrayList<RepositoryInfo> repositories = new ArrayList<>();
+        ArrayList<EntityInfo> entities = new ArrayList<>();
+
+        for (Map<Path, FileResult> fileResults : moduleResults.values()) {
+            for (FileResult result : fileResults.values()) {
+                controllers.addAll(result.controllers);
+                services.addAll(result.services);
+                repositories.addAll(result.repositories);
+                entities.addAll(result.entities);
+            }
+        }
+
+        if (compactor != null) {
+            controllers.trimToSize();
+            services.trimToSize();
+            repositories.trimToSize();
+            entities.trimToSize();
+        }
+
+        this.controllers = controllers;
+        this.services = services;
+        this.repositories = repositories;
+        this.entities = entities;
+        this.routeIndex = RouteIndex.build(controllers);
+        this.flowGraph = FlowGraph.build(controllers, services, repositories, entities);
+    }
+
+    private FileResult scanFile(Path root, Path file, AnalysisCache cache) {
+        FileResult result = extractFile(root, file, cache);
+        if (compactor != null) {
+            result = compactor.compact(result);
+        }
+        if (!listeners.isEmpty()) {
+            publish(file, result);
+        }
+        return options.retainResults ? result : FileResult.EMPTY;
+    }
+
+    private void publish(Path file, FileResult result) {
+        for (ScanListener listener : listeners) {
+            result.controllers.forEach(c -> listener.onController(file, c));
+            result.services.forEach(s -> listener.onService(file, s));
+            result.repositories.forEach(r -> listener.onRepository(file, r));
+            result.entities.forEach(e -> listener.onEntity(file, e));
+        }
+        int done = completed.incrementAndGet();
+        for (ScanListener listener : listeners) {
+            listener.onProgress(done, discovered.get());
+        }
+    }
+
+    private FileResult extractFile(Path root, Path file, AnalysisCache cache) {
+        FileResult result = new FileResult();
+        ScanMetrics.FileTimer timer = metrics != null ? metrics.startFile() : null;
+        ScanMetrics.Outcome outcome = ScanMetrics.Outcome.SKIPPED;
+        String relativePath = cacheKey(root, file);
+        quarantine.remove(relativePath);
+        long size = 0;
+        int reserved = 0;
+
+        try {
+            String key = null;
+            long lastModified = 0;
+            if (cache != null) {
+                key = relativePath;
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                size = attrs.size();
+                lastModified = attrs.lastModifiedTime().toMillis();
+
+                FileResult cached = cache.lookup(key, size, lastModified);
+                if (cached != null) {
+                    outcome = ScanMetrics.Outcome.CACHED;
+                    return cached;
+                }
+            }
+
+            if (cache == null) {
+                size = Files.size(file);
+            }
+            if (options.maxFileBytes > 0 && size > options.maxFileBytes) {
+                throw new ScanLimitException("size " + size + " bytes exceeds the " + options.maxFileBytes + " byte limit");
+            }
+            if (memoryBudget != null) {
+                reserved = memoryBudget.acquire(size, options.signaturesOnly);
+            }
+
+            byte[] bytes = Files.readAllBytes(file);
+            size = bytes.length;
+            String hash = null;
+            if (cache != null) {
+                hash = AnalysisCache.hash(bytes);
+                FileResult cached = cache.lookup(key, size, lastModified, hash);
+                if (cached != null) {
+                    outcome = ScanMetrics.Outcome.CACHED;
+                    return cached;
+                }
+            }
+            if (timer != null) timer.end(ScanMetrics.Phase.READ);
+
+            // Files without any stereotype are never decoded or parsed. The rest are parsed
+            // once from memory and a single AST pass fills every model type
+            boolean matched = StereotypePrefilter.classify(bytes) != 0;
+            if (timer != null) timer.end(ScanMetrics.Phase.CLASSIFY);
+
+            if (matched) {
+                CompilationUnit cu = parse(options.signaturesOnly ? BodyStripper.strip(bytes) : bytes);
+                if (timer != null) timer.end(ScanMetrics.Phase.PARSE);
+
+                result = StereotypeVisitor.extract(cu, options.resolveTypes);
+                if (options.signaturesOnly) {
+                    // Bodies were stripped, so which dependencies a handler uses is unknown
+                    for (ControllerInfo controller : result.controllers) {
+                        for (EndpointInfo endpoint : controller.endpoints) endpoint.uses = null;
                     }
                 }
-            } catch (Exception e) {
-                System.err.println("Error parsing: " + file.getName() + " - " + e.getMessage());
+                if (timer != null) timer.end(ScanMetrics.Phase.EXTRACT);
+                outcome = ScanMetrics.Outcome.MATCHED;
+            } else if (options.resolveTypes) {
+                // Unparsed files still declare types others refer to: the public top-level type
+                // is named after the file, and the package comes from a quick scan of the header
+                result.packageName = StereotypePrefilter.packageName(bytes);
+                String simpleName = file.getFileName().toString().replaceFirst("\\.java$", "");
+                result.declaredTypes = new ArrayList<>(List.of(result.packageName != null
+                        ? result.packageName + "." + simpleName : simpleName));
+            }
+
+            if (cache != null) {
+                cache.put(key, size, lastModified, hash, result);
+            }
+        } catch (ScanLimitException e) {
+            outcome = ScanMetrics.Outcome.QUARANTINED;
+            QuarantinedFile entry = new QuarantinedFile(relativePath, size, e.getMessage());
+            quarantine.put(relativePath, entry);
+            System.err.println("Quarantined: " + entry);
+            for (ScanListener listener : listeners) {
+                listener.onError(file, e);
+            }
+        } catch (Exception e) {
+            outcome = ScanMetrics.Outcome.FAILED;
+            System.err.println("Error parsing: " + file.getFileName() + " - " + e.getMessage());
+            for (ScanListener listener : listeners) {
+                listener.onError(file, e);
+            }
+        } finally {
+            if (reserved > 0) {
+                memoryBudget.release(reserved);
+            }
+            if (timer != null) {
+                timer.finish(relativePath, size, outcome);
             }
         }
+
+        return result;
     }
 
-    private List<File> findJavaFiles(File root) throws IOException {
-        List<File> javaFiles = new ArrayList<>();
+    // Extracts one source held in memory, such as a blob read from git. The size and parse
+    // limits apply, but there is no cache, no metrics and no listeners
+    public FileResult extractSource(String name, byte[] bytes) {
+        try {
+            if (options.maxFileBytes > 0 && bytes.length > options.maxFileBytes) {
+                throw new ScanLimitException("size " + bytes.length + " bytes exceeds the " + options.maxFileBytes + " byte limit");
+            }
+            if (StereotypePrefilter.classify(bytes) == 0) {
+                return new FileResult();
+            }
+            CompilationUnit cu = parse(options.signaturesOnly ? BodyStripper.strip(bytes) : bytes);
+            return StereotypeVisitor.extract(cu);
+        } catch (ScanLimitException e) {
+            QuarantinedFile entry = new QuarantinedFile(name, bytes.length, e.getMessage());
+            quarantine.put(name, entry);
+            System.err.println("Quarantined: " + entry);
+        } catch (Exception e) {
+            System.err.println("Error parsing: " + name + " - " + e.getMessage());
+        }
+        return new FileResult();
+    }
 
-        try (Stream<Path> paths = Files.walk(root.toPath())) {
-            paths.filter(p -> p.toString().endsWith(".java"))
-                    .filter(p -> !p.toString().contains("test"))
-                    .filter(p -> !p.toString().contains("Test"))
-                    .forEach(p -> javaFiles.add(p.toFile()));
+    // Parses straight from the bytes, without an intermediate String; with a parse time limit
+    // the input is fed through a reader that cancels the parse once the deadline has passed.
+    // The parser may take the failed read for the end of input and return a truncated unit,
+    // so expiry is checked after every parse, not only when it reports a problem
+    private CompilationUnit parse(byte[] bytes) throws ScanLimitException {
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+        DeadlineReader deadline = null;
+        if (options.parseTimeoutMillis > 0) {
+            reader = deadline = new DeadlineReader(reader, options.parseTimeoutMillis);
         }
+        CompilationUnit cu;
+        try {
+            cu = options.signaturesOnly ? Parsers.parseLean(reader) : Parsers.parse(reader);
+        } catch (ParseProblemException e) {
+            checkDeadline(deadline);
+            throw e;
+        }
+        checkDeadline(deadline);
+        return cu;
+    }
 
-        return javaFiles;
+    private void checkDeadline(DeadlineReader deadline) throws ScanLimitException {
+        if (deadline != null && deadline.isExpired()) {
+            throw new ScanLimitException("parse exceeded the " + options.parseTimeoutMillis + " ms limit");
+        }
     }
 
-    private boolean isController(String content) {
-        return content.contains("@RestController") || content.contains("@Controller");
+    public List<QuarantinedFile> getQuarantined() {
+        List<QuarantinedFile> files = new ArrayList<>(quarantine.values());
+        files.sort(Comparator.comparing(q -> q.file));
+        return files;
     }
 
-    private boolean isService(String content) {
-        return content.contains("@Service");
+    // Every option that changes a FileResult: symbol resolution adds declared and referenced
+    // types, and a signatures-only scan leaves out the dependencies each endpoint uses
+    private static String cacheVariant(ScanOptions options) {
+        List<String> parts = new ArrayList<>();
+        if (options.resolveTypes) parts.add("symbols");
+        if (options.signaturesOnly) parts.add("signatures");
+        return String.join("+", parts);
     }
 
-    private boolean isRepository(String content) {
-        return content.contains("@Repository")
-                || content.contains("extends JpaRepository")
-                || content.contains("extends CrudRepository");
+    private static String cacheKey(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
     }
 
-    private boolean isEntity(String content) {
-        return content.contains("@Entity");
+    // A source root other than the module directory is already a source set (src/main/java)
+    private List<Path> findJavaFiles(ModuleInfo module) {
+        List<Path> javaFiles = new ArrayList<>();
+
+        for (Path sourceRoot : module.sourceRoots) {
+            javaFiles.addAll(walker.walk(sourceRoot, !sourceRoot.equals(module.directory), sharedPool));
+        }
+
+        return javaFiles;
     }
 
     public List<ControllerInfo> getControllers() {
@@ -108,6 +647,14 @@ public class ProjectScanner {
         return entities;
     }
 
+    public RouteIndex getRouteIndex() {
+        return routeIndex;
+    }
+
+    public FlowGraph getFlowGraph() {
+        return flowGraph;
+    }
+
     public void printSummary() {
         System.out.println("=== PROJECT SUMMARY ===\n");
 
@@ -131,23 +678,116 @@ public class ProjectScanner {
             System.out.println(e);
         }
     }
-    public String toJson() {
+    public ProjectOutput getOutput() {
         ProjectOutput output = new ProjectOutput(
                 controllers,
                 services,
                 repositories,
                 entities
         );
+        if (options.modules) {
+            output.modules = getModuleOutputs();
+        }
+        if (!quarantine.isEmpty()) {
+            output.quarantined = getQuarantined();
+        }
+        return output;
+    }
+
+    // Results merged per package (per module and package in module-aware scans), in walk order
+    public Map<String, FileResult> getPackageResults() {
+        Map<String, FileResult> groups = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<Path, FileResult>> module : moduleResults.entrySet()) {
+            for (FileResult result : module.getValue().values()) {
+                String packageName = result.packageName != null ? result.packageName : "(default)";
+                String group = options.modules ? module.getKey() + "/" + packageName : packageName;
 
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        return gson.toJson(output);
+                FileResult merged = groups.computeIfAbsent(group, k -> new FileResult());
+                merged.controllers.addAll(result.controllers);
+                merged.services.addAll(result.services);
+                merged.repositories.addAll(result.repositories);
+                merged.entities.addAll(result.entities);
+            }
+        }
+        return groups;
     }
 
-    public void saveJson(String filePath) throws IOException {
-        String json = toJson();
-        try (FileWriter writer = new FileWriter(filePath)) {
-            writer.write(json);
+    public List<ModuleOutput> getModuleOutputs() {
+        List<ModuleOutput> outputs = new ArrayList<>();
+        for (ModuleInfo module : modules) {
+            ModuleOutput output = new ModuleOutput();
+            output.name = module.name;
+            output.path = root.relativize(module.directory).toString().replace('\\', '/');
+
+            for (FileResult result : moduleResults.getOrDefault(module.name, Map.of()).values()) {
+                result.controllers.forEach(c -> output.controllers.add(c.className));
+                result.services.forEach(s -> output.services.add(s.className));
+                result.repositories.forEach(r -> output.repositories.add(r.interfaceName));
+                result.entities.forEach(e -> output.entities.add(e.className));
+            }
+            outputs.add(output);
+        }
+        return outputs;
+    }
+
+    public String toJson() {
+        return JsonOutput.toJson(getOutput());
+    }
+
+    // Writes shards when requested, the binary format for .sba paths and JSON otherwise
+    public void save(String filePath) throws IOException {
+        long start = metrics != null ? System.nanoTime() : 0;
+        write(filePath);
+        if (!filePath.endsWith(".ndjson")) {
+            if (options.searchIndex) {
+                saveSearchIndex(Path.of(filePath));
+            } else {
+                // An index left from an earlier save would describe a different analysis
+                Files.deleteIfExists(SymbolSearchIndex.pathFor(Path.of(filePath)));
+            }
         }
-        System.out.println("Saved to: " + filePath);
+        if (metrics != null) {
+            metrics.recordPhase(ScanMetrics.Phase.SERIALIZE, System.nanoTime() - start);
+            if (options.metricsPath != null) {
+                metrics.write(Path.of(options.metricsPath));
+            }
+        }
+    }
+
+    private void write(String filePath) throws IOException {
+        if (options.sharded) {
+            ShardWriter.write(getPackageResults(), Path.of(filePath), options.compactJson);
+        } else if (filePath.endsWith(".ndjson")) {
+            saveNdjson(filePath);
+        } else if (BinaryConverter.isBinary(filePath)) {
+            BinaryWriter.write(getOutput(), Path.of(filePath));
+        } else {
+            saveJson(filePath);
+        }
+    }
+
+    // Every retained result as one NDJSON record per model, in walk order
+    public void saveNdjson(String filePath) throws IOException {
+        Path target = Path.of(filePath).toAbsolutePath();
+        AtomicWrite.write(target, temp -> {
+            try (NdjsonWriter writer = NdjsonWriter.open(temp, root)) {
+                for (Map<Path, FileResult> fileResults : moduleResults.values()) {
+                    fileResults.forEach(writer::writeFile);
+                }
+            }
+        });
+        System.out.println("Saved to: " + target);
+    }
+
+    public void saveSearchIndex(Path analysis) throws IOException {
+        SymbolSearchIndex index = SymbolSearchIndex.build(getOutput());
+        Path target = SymbolSearchIndex.pathFor(analysis);
+        index.save(target);
+        System.out.println("Search index saved to: " + target + " (" + index.size() + " symbols)");
+    }
+
+    public void saveJson(String filePath) throws IOException {
+        boolean gzip = options.gzip || filePath.endsWith(".gz");
+        JsonOutput.write(getOutput(), Path.of(filePath), options.compactJson, gzip);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package dev.analyzer.scanner;
+
+// A file was left out because it exceeded a scan limit; the message is the quarantine reason
+public class ScanLimitException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public ScanLimitException(String reason) {
+        super(reason);
+    }
+}
@@ -0,0 +1,36 @@
+package dev.analyzer.scanner;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+
+import java.nio.file.Path;
+
+// Push-based scan results. Callbacks fire as soon as each file is done and, on a parallel scan,
+// come concurrently from the worker threads in completion order
+public interface ScanListener {
+
+    // The resolved project root, before any file is scanned
+    default void onStart(Path root) {
+    }
+
+    default void onController(Path file, ControllerInfo controller) {
+    }
+
+    default void onService(Path file, ServiceInfo service) {
+    }
+
+    default void onRepository(Path file, RepositoryInfo repository) {
+    }
+
+    default void onEntity(Path file, EntityInfo entity) {
+    }
+
+    default void onError(Path file, Exception error) {
+    }
+
+    // After every file; discovered grows while modules are still being walked
+    default void onProgress(int completed, int discovered) {
+    }
+}
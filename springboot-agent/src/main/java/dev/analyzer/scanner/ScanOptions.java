@@ -0,0 +1,83 @@
+package dev.analyzer.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScanOptions implements Cloneable {
+    // Number of worker threads used to parse files; 1 keeps the scan sequential
+    public int threads = 1;
+
+    // Incremental analysis cache file; null disables caching
+    public String cachePath;
+
+    // Parse declarations only: method bodies are stripped and the parser skips comments and tokens
+    public boolean signaturesOnly;
+
+    // Intern strings through a scan-wide symbol table and keep the models in exact-size immutable lists
+    public boolean leanModel;
+
+    // JSON output without indentation
+    public boolean compactJson;
+
+    // Gzip the JSON output; also enabled when the output path ends with .gz
+    public boolean gzip;
+
+    // Discover Maven/Gradle modules and scan each module's source root as its own unit
+    public boolean modules;
+
+    // Write the analysis as a directory of per-package shards plus a manifest
+    public boolean sharded;
+
+    // Write scan instrumentation (phase timings, parse latency histogram, slowest and largest files) here
+    public String metricsPath;
+
+    // Number of entries in the slowest/largest file lists
+    public int metricsTopN = 20;
+
+    // Keep every result in memory after it has been passed to the listeners. Streaming consumers
+    // turn this off so memory no longer grows with the project
+    public boolean retainResults = true;
+
+    // Files larger than this are quarantined without being read; 0 disables the limit
+    public long maxFileBytes = 4L << 20;
+
+    // Parses running longer than this are cancelled and the file quarantined; 0 disables the limit
+    public long parseTimeoutMillis = 10_000;
+
+    // Heap that in-flight parses may reserve, in MB; 0 means a quarter of the maximum heap, -1 no limit
+    public int memoryBudgetMb;
+
+    // Rewrite type names in the models to fully qualified names, using the project's imports and packages
+    public boolean resolveTypes;
+
+    // Glob patterns matched against paths relative to the project root: when includes are given a
+    // file must match one of them, and anything matching an exclude is skipped; an exclude ending
+    // in /** prunes the directory before it
+    public List<String> includes = new ArrayList<>();
+    public List<String> excludes = new ArrayList<>();
+
+    // Skip what the project's .gitignore files ignore
+    public boolean gitignore = true;
+
+    // Also scan test source sets (src/test/java, src/integrationTest/java, ...)
+    public boolean includeTests;
+
+    // Save a symbol search index next to the analysis (as <name>.search, or search.idx in a shard directory)
+    public boolean searchIndex = true;
+
+    // Per-project options in batch scans start from a copy of the shared ones
+    public ScanOptions copy() {
+        try {
+            ScanOptions copy = (ScanOptions) super.clone();
+            copy.includes = new ArrayList<>(includes);
+            copy.excludes = new ArrayList<>(excludes);
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,245 @@
+package dev.analyzer.scanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// Finds the .java files to scan under a project root. Whole directories are pruned as soon as they
+// are listed: hidden directories (.git, .idea, ...), node_modules and generated sources always,
+// build output (target, build, out, bin) when it sits next to a build file, test source sets, and
+// whatever the project's .gitignore files or the exclude globs rule out. Test code is recognised
+// by the source set layout (src/test/java, src/integrationTest/java, ...) rather than by name, so
+// packages such as contest or attestation are scanned. Each directory is one fork/join task; the
+// results are joined in listing order, so the files come out in the same order as Files.walk.
+public class SourceWalker {
+
+    private static final Set<String> ALWAYS_PRUNED = Set.of("node_modules", "generated-sources", "generated-test-sources");
+    private static final Set<String> BUILD_OUTPUT = Set.of("target", "build", "out", "bin");
+    private static final Set<String> BUILD_FILES = Set.of("pom.xml", "build.gradle", "build.gradle.kts", "build.xml");
+
+    // Where a directory stands; immutable, one per directory
+    private static class Dir {
+        final Path path;
+        final String rel;              // relative to the root, / separated, "" for the root
+        final String name;
+        final String parentName;
+        final boolean sourceSet;       // inside src/<set>/java or a module source root: package directories only
+        final IgnoreRules ignore;      // rules for the entries of this directory
+
+        Dir(Path path, String rel, String name, String parentName, boolean sourceSet, IgnoreRules ignore) {
+            this.path = path;
+            this.rel = rel;
+            this.name = name;
+            this.parentName = parentName;
+            this.sourceSet = sourceSet;
+            this.ignore = ignore;
+        }
+
+        Dir withRules(IgnoreRules rules) {
+            return rules == ignore ? this : new Dir(path, rel, name, parentName, sourceSet, rules);
+        }
+    }
+
+    private final Path root;
+    private final ScanOptions options;
+    private final List<PathMatcher> includes = new ArrayList<>();
+    private final List<PathMatcher> excludes = new ArrayList<>();
+    private final List<PathMatcher> excludedDirs = new ArrayList<>();
+
+    public SourceWalker(Path root, ScanOptions options) {
+        this.root = root.toAbsolutePath().normalize();
+        this.options = options;
+        FileSystem fs = this.root.getFileSystem();
+        for (String glob : options.includes) {
+            includes.add(fs.getPathMatcher("glob:" + glob));
+        }
+        for (String glob : options.excludes) {
+            excludes.add(fs.getPathMatcher("glob:" + glob));
+            // legacy/** or **/generated/** also prunes the directory itself
+            if (glob.endsWith("/**") && glob.length() > 3) {
+                excludedDirs.add(fs.getPathMatcher("glob:" + glob.substring(0, glob.length() - 3)));
+            }
+        }
+    }
+
+    // The source files under start, which is the root or a directory below it. A module source
+    // root counts as a source set, so its package directories are never taken for build output
+    // or tests. With a pool, or when called from a pool worker, directories are listed in parallel
+    public List<Path> walk(Path start, boolean sourceRoot, ForkJoinPool pool) {
+        Dir dir = enterStart(start.toAbsolutePath().normalize(), sourceRoot);
+        if (ForkJoinTask.inForkJoinPool()) {
+            return new DirTask(dir, true).invoke();
+        }
+        if (pool != null) {
+            return pool.invoke(new DirTask(dir, true));
+        }
+        return new DirTask(dir, false).compute();
+    }
+
+    // Whether the walk would include this file; for single files such as watch events
+    public boolean isSource(Path file) {
+        file = file.toAbsolutePath().normalize();
+        if (!file.startsWith(root) || file.equals(root)) return false;
+        Dir dir = dirFor(root.relativize(file).getParent());
+        return dir != null && acceptFile(dir, file.getFileName().toString());
+    }
+
+    // Whether the walk would descend into this directory, for watchers registering directories
+    public boolean includesDirectory(Path directory) {
+        directory = directory.toAbsolutePath().normalize();
+        return directory.startsWith(root) && dirFor(root.relativize(directory)) != null;
+    }
+
+    // The state of the directory at relative (null or empty for the root), or null when it is pruned
+    private Dir dirFor(Path relative) {
+        Dir dir = loadRules(rootDir(), Files.exists(root.resolve(".gitignore")));
+        if (relative == null || relative.toString().isEmpty()) return dir;
+        for (int i = 0; i < relative.getNameCount() && dir != null; i++) {
+            Path child = dir.path.resolve(relative.getName(i).toString());
+            dir = enter(dir, child, besideBuildFile(dir.path));
+            if (dir != null) dir = loadRules(dir, Files.exists(child.resolve(".gitignore")));
+        }
+        return dir;
+    }
+
+    private Dir rootDir() {
+        return new Dir(root, "", root.getFileName() != null ? root.getFileName().toString() : "", "", false, null);
+    }
+
+    // The rules of the directories above start apply inside it too; its own are loaded by the walk
+    private Dir enterStart(Path start, boolean sourceRoot) {
+        Dir dir = rootDir();
+        if (start.startsWith(root) && !start.equals(root)) {
+            Path relative = root.relativize(start);
+            for (int i = 0; i < relative.getNameCount(); i++) {
+                dir = loadRules(dir, Files.exists(dir.path.resolve(".gitignore")));
+                Path child = dir.path.resolve(relative.getName(i).toString());
+                String name = child.getFileName().toString();
+                String rel = dir.rel.isEmpty() ? name : dir.rel + "/" + name;
+                boolean sourceSet = dir.sourceSet || name.equals("java") && "src".equals(dir.parentName);
+                dir = new Dir(child, rel, name, dir.name, sourceSet, dir.ignore);
+            }
+        } else if (!start.equals(root)) {
+            dir = new Dir(start, "", start.getFileName() != null ? start.getFileName().toString() : "", "", false, null);
+        }
+        return sourceRoot ? new Dir(dir.path, dir.rel, dir.name, dir.parentName, true, dir.ignore) : dir;
+    }
+
+    // The child directory's state, or null when it is pruned
+    private Dir enter(Dir parent, Path path, boolean besideBuildFile) {
+        String name = path.getFileName().toString();
+        String rel = parent.rel.isEmpty() ? name : parent.rel + "/" + name;
+        if (!parent.sourceSet) {
+            if (name.startsWith(".") || ALWAYS_PRUNED.contains(name)) return null;
+            if (besideBuildFile && BUILD_OUTPUT.contains(name)) return null;
+            if (!options.includeTests && (name.equals("test") || name.equals("tests")
+                    || "src".equals(parent.name) && isTestSourceSet(name))) return null;
+        }
+        if (parent.ignore != null && parent.ignore.isIgnored(rel, true)) return null;
+        if (matches(excludedDirs, rel) || matches(excludes, rel)) return null;
+        boolean sourceSet = parent.sourceSet || name.equals("java") && "src".equals(parent.parentName);
+        return new Dir(path, rel, name, parent.name, sourceSet, parent.ignore);
+    }
+
+    private boolean acceptFile(Dir dir, String name) {
+        if (!name.endsWith(".java")) return false;
+        String rel = dir.rel.isEmpty() ? name : dir.rel + "/" + name;
+        if (dir.ignore != null && dir.ignore.isIgnored(rel, false)) return false;
+        if (matches(excludes, rel)) return false;
+        return includes.isEmpty() || matches(includes, rel);
+    }
+
+    private Dir loadRules(Dir dir, boolean hasGitignore) {
+        if (!options.gitignore || !hasGitignore) return dir;
+        return dir.withRules(IgnoreRules.load(dir.ignore, dir.path, dir.rel));
+    }
+
+    private boolean matches(List<PathMatcher> matchers, String rel) {
+        if (matchers.isEmpty()) return false;
+        Path path = root.getFileSystem().getPath(rel);
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) return true;
+        }
+        return false;
+    }
+
+    // src/test, src/integrationTest, src/testFixtures, src/it and the like
+    private static boolean isTestSourceSet(String name) {
+        return name.startsWith("test") || name.endsWith("Test") || name.endsWith("Tests") || name.equals("it");
+    }
+
+    private static boolean besideBuildFile(Path dir) {
+        for (String buildFile : BUILD_FILES) {
+            if (Files.exists(dir.resolve(buildFile))) return true;
+        }
+        return false;
+    }
+
+    private class DirTask extends RecursiveTask<List<Path>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Dir dir;
+        private final boolean parallel;
+
+        DirTask(Dir dir, boolean parallel) {
+            this.dir = dir;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> entries = new ArrayList<>();
+            boolean hasGitignore = false;
+            boolean besideBuildFile = false;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir.path)) {
+                for (Path entry : stream) {
+                    String name = entry.getFileName().toString();
+                    hasGitignore |= name.equals(".gitignore");
+                    besideBuildFile |= BUILD_FILES.contains(name);
+                    entries.add(entry);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Dir current = loadRules(dir, hasGitignore);
+
+            // Files in place, subdirectories as tasks, so joining in order keeps the listing order.
+            // Names ending in .java are taken to be files, which saves a stat for most entries
+            List<Object> parts = new ArrayList<>(entries.size());
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (name.endsWith(".java")) {
+                    if (acceptFile(current, name)) parts.add(entry);
+                } else if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                    Dir child = enter(current, entry, besideBuildFile);
+                    if (child == null) continue;
+                    DirTask task = new DirTask(child, parallel);
+                    if (parallel) task.fork();
+                    parts.add(task);
+                }
+            }
+
+            List<Path> files = new ArrayList<>();
+            for (Object part : parts) {
+                if (part instanceof Path) {
+                    files.add((Path) part);
+                } else {
+                    DirTask task = (DirTask) part;
+                    files.addAll(parallel ? task.join() : task.compute());
+                }
+            }
+            return files;
+        }
+    }
+}
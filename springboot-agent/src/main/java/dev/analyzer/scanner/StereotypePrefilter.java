@@ -0,0 +1,242 @@
+package dev.analyzer.scanner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Classifies a source file from its raw bytes in a single pass, before anything is decoded or parsed.
+// Comments, string/char literals and text blocks are skipped, so mentions there don't count.
+public class StereotypePrefilter {
+
+    public static final int CONTROLLER = 1;
+    public static final int SERVICE = 1 << 1;
+    public static final int REPOSITORY = 1 << 2;
+    public static final int ENTITY = 1 << 3;
+
+    private static final String[] ANNOTATIONS = {"RestController", "Controller", "Service", "Repository", "Entity"};
+    private static final int[] ANNOTATION_KINDS = {CONTROLLER, CONTROLLER, SERVICE, REPOSITORY, ENTITY};
+
+    // Must stay in sync with RepositoryExtractor.extendsSpringRepository
+    private static final String[] REPOSITORY_BASES = {
+            "JpaRepository", "CrudRepository", "PagingAndSortingRepository", "MongoRepository"
+    };
+
+    private static final byte[] EXTENDS = "extends".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PACKAGE = "package".getBytes(StandardCharsets.US_ASCII);
+
+    // Patterns bucketed by length, so a token is only compared against names it could equal
+    private static final byte[][][] ANNOTATIONS_BY_LENGTH = bucket(ANNOTATIONS);
+    private static final byte[][][] BASES_BY_LENGTH = bucket(REPOSITORY_BASES);
+    private static final int[][] ANNOTATION_KINDS_BY_LENGTH = bucketKinds(ANNOTATIONS, ANNOTATION_KINDS);
+
+    public static int classify(byte[] src) {
+        return classify(src, 0, src.length);
+    }
+
+    public static int classify(byte[] src, int from, int to) {
+        int kinds = 0;
+        boolean inExtends = false;
+        int i = from;
+
+        while (i < to) {
+            byte c = src[i];
+
+            if (c == '/' && i + 1 < to && src[i + 1] == '/') {
+                i = skipLineComment(src, i + 2, to);
+            } else if (c == '/' && i + 1 < to && src[i + 1] == '*') {
+                i = skipBlockComment(src, i + 2, to);
+            } else if (c == '"') {
+                if (i + 2 < to && src[i + 1] == '"' && src[i + 2] == '"') {
+                    i = skipTextBlock(src, i + 3, to);
+                } else {
+                    i = skipQuoted(src, i + 1, to, (byte) '"');
+                }
+            } else if (c == '\'') {
+                i = skipQuoted(src, i + 1, to, (byte) '\'');
+            } else if (c == '@') {
+                // The simple name is the last segment of a possibly qualified annotation name
+                int start = -1;
+                int end = -1;
+                i = skipWhitespace(src, i + 1, to);
+                while (i < to && isIdentifierStart(src[i])) {
+                    start = i;
+                    while (i < to && isIdentifierPart(src[i])) i++;
+                    end = i;
+                    int next = skipWhitespace(src, i, to);
+                    if (next < to && src[next] == '.') {
+                        i = skipWhitespace(src, next + 1, to);
+                    } else {
+                        break;
+                    }
+                }
+                if (start >= 0) {
+                    kinds |= annotationKind(src, start, end);
+                }
+            } else if (isIdentifierStart(c)) {
+                int start = i;
+                while (i < to && isIdentifierPart(src[i])) i++;
+
+                if (inExtends) {
+                    if (matches(BASES_BY_LENGTH, src, start, i) >= 0) {
+                        kinds |= REPOSITORY;
+                    }
+                } else if (equals(EXTENDS, src, start, i)) {
+                    inExtends = true;
+                }
+            } else {
+                // An extends clause ends where the type body (or a declaration) starts
+                if (c == '{' || c == ';') {
+                    inExtends = false;
+                }
+                i++;
+            }
+        }
+
+        return kinds;
+    }
+
+    // The package declaration, read without parsing; null for the default package
+    public static String packageName(byte[] src) {
+        int to = src.length;
+        int i = 0;
+        while (i < to) {
+            byte c = src[i];
+            if (c == '/' && i + 1 < to && src[i + 1] == '/') {
+                i = skipLineComment(src, i + 2, to);
+            } else if (c == '/' && i + 1 < to && src[i + 1] == '*') {
+                i = skipBlockComment(src, i + 2, to);
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\f' || (c & 0xff) == 0xef) {
+                // Whitespace, or the first byte of a UTF-8 byte order mark
+                i = (c & 0xff) == 0xef ? i + 3 : i + 1;
+            } else if (equals(PACKAGE, src, i, Math.min(to, i + PACKAGE.length))
+                    && i + PACKAGE.length < to && !isIdentifierPart(src[i + PACKAGE.length])) {
+                StringBuilder name = new StringBuilder();
+                for (i += PACKAGE.length; i < to && src[i] != ';'; i++) {
+                    if (src[i] == '/' && i + 1 < to && (src[i + 1] == '/' || src[i + 1] == '*')) {
+                        i = (src[i + 1] == '/' ? skipLineComment(src, i + 2, to) : skipBlockComment(src, i + 2, to)) - 1;
+                    } else if (isIdentifierPart(src[i]) || src[i] == '.') {
+                        name.append((char) src[i]);
+                    }
+                }
+                return name.length() > 0 ? name.toString() : null;
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static int annotationKind(byte[] src, int start, int end) {
+        int index = matches(ANNOTATIONS_BY_LENGTH, src, start, end);
+        return index >= 0 ? ANNOTATION_KINDS_BY_LENGTH[end - start][index] : 0;
+    }
+
+    private static int matches(byte[][][] byLength, byte[] src, int start, int end) {
+        int length = end - start;
+        if (length >= byLength.length || byLength[length] == null) return -1;
+
+        byte[][] candidates = byLength[length];
+        for (int p = 0; p < candidates.length; p++) {
+            if (equals(candidates[p], src, start, end)) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean equals(byte[] pattern, byte[] src, int start, int end) {
+        if (end - start != pattern.length) return false;
+        for (int k = 0; k < pattern.length; k++) {
+            if (src[start + k] != pattern[k]) return false;
+        }
+        return true;
+    }
+
+    static int skipLineComment(byte[] src, int i, int to) {
+        while (i < to && src[i] != '\n') i++;
+        return i;
+    }
+
+    static int skipBlockComment(byte[] src, int i, int to) {
+        while (i + 1 < to && !(src[i] == '*' && src[i + 1] == '/')) i++;
+        return i + 2;
+    }
+
+    static int skipQuoted(byte[] src, int i, int to, byte quote) {
+        while (i < to) {
+            byte c = src[i];
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    static int skipTextBlock(byte[] src, int i, int to) {
+        while (i + 2 < to) {
+            if (src[i] == '\\') {
+                i += 2;
+            } else if (src[i] == '"' && src[i + 1] == '"' && src[i + 2] == '"') {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return to;
+    }
+
+    static int skipWhitespace(byte[] src, int i, int to) {
+        while (i < to && (src[i] == ' ' || src[i] == '\t' || src[i] == '\n' || src[i] == '\r')) i++;
+        return i;
+    }
+
+    // Non-ASCII bytes are treated as identifier characters; none of the patterns contain them
+    static boolean isIdentifierStart(byte c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$' || c < 0;
+    }
+
+    static boolean isIdentifierPart(byte c) {
+        return isIdentifierStart(c) || (c >= '0' && c <= '9');
+    }
+
+    private static byte[][][] bucket(String[] names) {
+        int max = 0;
+        for (String name : names) max = Math.max(max, name.length());
+
+        byte[][][] byLength = new byte[max + 1][][];
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+            byte[][] bucket = byLength[bytes.length];
+            if (bucket == null) {
+                bucket = new byte[][]{bytes};
+            } else {
+                bucket = Arrays.copyOf(bucket, bucket.length + 1);
+                bucket[bucket.length - 1] = bytes;
+            }
+            byLength[bytes.length] = bucket;
+        }
+        return byLength;
+    }
+
+    private static int[][] bucketKinds(String[] names, int[] kinds) {
+        int max = 0;
+        for (String name : names) max = Math.max(max, name.length());
+
+        int[][] byLength = new int[max + 1][];
+        for (int n = 0; n < names.length; n++) {
+            int length = names[n].length();
+            int[] bucket = byLength[length];
+            if (bucket == null) {
+                bucket = new int[]{kinds[n]};
+            } else {
+                bucket = Arrays.copyOf(bucket, bucket.length + 1);
+                bucket[bucket.length - 1] = kinds[n];
+            }
+            byLength[length] = bucket;
+        }
+        return byLength;
+    }
+}
@@ -0,0 +1,14 @@
+package dev.analyzer.search;
+
+public class SearchHit {
+    public String name;
+    public String kind;        // controller, service, repository, entity, method, endpoint, field
+    public String owner;       // declaring class of methods, endpoints and fields
+    public String detail;      // HTTP method of endpoints
+    public int score;
+
+    @Override
+    public String toString() {
+        return kind + " " + (owner != null ? owner + "." : "") + name + " (" + score + ")";
+    }
+}
@@ -0,0 +1,670 @@
+package dev.analyzer.search;
+
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FieldInfo;
+import dev.analyzer.models.MethodInfo;
+import dev.analyzer.models.RelationshipInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.scanner.AtomicWrite;
+import dev.analyzer.scanner.ProjectOutput;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Ranked name search over classes, methods, endpoint paths and fields. Every symbol is indexed
+// under the trigrams of its lower-cased name, padded at the start so prefixes of one or two
+// characters have a trigram too, and under each ordered pair of its camel-case word initials,
+// so UsrCtl finds UserController. Postings are sorted int arrays of symbol ids; a query counts
+// trigram hits per symbol, and only the candidates that share enough trigrams (or the initials)
+// are ranked: exact, prefix, camel-case, substring, abbreviation, then fuzzy by the share of
+// query trigrams.
+public class SymbolSearchIndex {
+
+    public static final String EXTENSION = ".search";
+    public static final String SHARDED_FILE_NAME = "search.idx";
+
+    private static final int MAGIC = 0x53425358;
+    private static final int VERSION = 2;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private static final String[] KINDS = {"controller", "service", "repository", "entity", "method", "endpoint", "field"};
+    private static final byte CONTROLLER = 0, SERVICE = 1, REPOSITORY = 2, ENTITY = 3, METHOD = 4, ENDPOINT = 5, FIELD = 6;
+
+    private static final char START = '\u0001';
+    // Initials pairs share the key space with trigrams (three 16-bit chars), tagged above them
+    private static final long INITIALS_TAG = 1L << 48;
+    private static final int MAX_WORDS = 8;
+    // Abbreviation matches are counted above the trigram hits in the per-query counters
+    private static final int CAMEL = 1 << 24;
+    private static final int PREFIXED = 1 << 28;
+    private static final int[] EMPTY = new int[0];
+
+    private static final int EXACT = 1000, PREFIX = 900, CAMEL_CASE = 800, SUBSTRING = 700, ABBREVIATION = 600, FUZZY = 100;
+
+    private final byte[] kinds;
+    private final String[] names;
+    private final String[] owners;
+    private final String[] details;
+    private final String[] lowerNames;
+    private final long[] letters;      // characters present in each lower-case name, see letters()
+
+    private final long[] keys;
+    private final int[][] postings;
+    private final long fingerprint;    // of the symbols the index was built from, see Builder.fingerprint()
+
+    private SymbolSearchIndex(byte[] kinds, String[] names, String[] owners, String[] details, long[] keys,
+                              int[][] postings, long fingerprint) {
+        this.fingerprint = fingerprint;
+        this.kinds = kinds;
+        this.names = names;
+        this.owners = owners;
+        this.details = details;
+        this.keys = keys;
+        this.postings = postings;
+        this.lowerNames = new String[names.length];
+        this.letters = new long[names.length];
+        for (int i = 0; i < names.length; i++) {
+            lowerNames[i] = names[i].toLowerCase(Locale.ROOT);
+            letters[i] = letters(lowerNames[i]);
+        }
+    }
+
+    public static SymbolSearchIndex build(ProjectOutput output) {
+        return symbols(output).build();
+    }
+
+    // Whether the index was built from the symbols of this analysis. A saved index can outlive
+    // its analysis (re-saved without an index, written by another tool, or a .json and an .sba
+    // of different scans sharing one .search file); collecting the symbols is cheap next to
+    // building the trigram postings
+    public boolean matches(ProjectOutput output) {
+        return symbols(output).fingerprint() == fingerprint;
+    }
+
+    private static Builder symbols(ProjectOutput output) {
+        Builder builder = new Builder();
+        for (ControllerInfo c : nonNull(output.controllers)) {
+            builder.add(CONTROLLER, c.className, null, null);
+            for (EndpointInfo e : nonNull(c.endpoints)) {
+                builder.add(METHOD, e.methodName, c.className, null);
+                builder.add(ENDPOINT, EndpointRef.joinPath(c.basePath, e.path), c.className, e.httpMethod);
+            }
+        }
+        for (ServiceInfo s : nonNull(output.services)) {
+            builder.add(SERVICE, s.className, null, null);
+            for (MethodInfo m : nonNull(s.methods)) {
+                builder.add(METHOD, m.name, s.className, null);
+            }
+        }
+        for (RepositoryInfo r : nonNull(output.repositories)) {
+            builder.add(REPOSITORY, r.interfaceName, null, null);
+            for (MethodInfo m : nonNull(r.customMethods)) {
+                builder.add(METHOD, m.name, r.interfaceName, null);
+            }
+        }
+        for (EntityInfo e : nonNull(output.entities)) {
+            builder.add(ENTITY, e.className, null, null);
+            for (FieldInfo f : nonNull(e.fields)) {
+                builder.add(FIELD, f.name, e.className, null);
+            }
+            for (RelationshipInfo r : nonNull(e.relationships)) {
+                builder.add(FIELD, r.fieldName, e.className, null);
+            }
+        }
+        return builder;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    // Best matches first; kind optionally restricts the results to one symbol kind
+    public List<SearchHit> search(String query, String kind, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) return Collections.emptyList();
+        int kindFilter = -1;
+        if (kind != null && !kind.isEmpty()) {
+            kindFilter = Arrays.asList(KINDS).indexOf(kind.toLowerCase(Locale.ROOT));
+            if (kindFilter < 0) return Collections.emptyList();
+        }
+
+        String raw = query.trim();
+        String q = raw.toLowerCase(Locale.ROOT);
+        List<String> queryWords = words(raw, true);
+
+        // Longer queries match anywhere and may miss half their trigrams; one or two
+        // characters only match as a prefix
+        long[] grams = q.length() >= 3 ? trigrams(q, false) : new long[]{
+                q.length() == 1 ? trigram(START, START, q.charAt(0)) : trigram(START, q.charAt(0), q.charAt(1))};
+        int required = q.length() >= 3 ? Math.max(1, (grams.length + 1) / 2) : 1;
+
+        Scratch scratch = SCRATCH.get().reset(names.length);
+        int[] counts = scratch.counts;
+        for (long gram : grams) {
+            for (int id : postings(gram)) {
+                if (counts[id]++ == 0) scratch.touch(id);
+            }
+        }
+
+        // Abbreviations: several words must have each consecutive pair of initials in order,
+        // a single word (usr) its first letter. Counted in the high bits of the same counters
+        int[] abbreviated = EMPTY;
+        int pairs = 0;
+        if (queryWords.size() >= 2) {
+            for (int w = 0; w + 1 < queryWords.size() && w < MAX_WORDS - 1; w++, pairs++) {
+                int[] list = postings(initials(queryWords.get(w), queryWords.get(w + 1)));
+                if (w == 0 || list.length < abbreviated.length) abbreviated = list;
+                for (int id : list) {
+                    if (counts[id] == 0) scratch.touch(id);
+                    counts[id] += CAMEL;
+                }
+            }
+        } else if (q.length() >= 3) {
+            abbreviated = postings(trigram(START, START, q.charAt(0)));
+            pairs = 1;
+            for (int id : abbreviated) {
+                if (counts[id] == 0) scratch.touch(id);
+                counts[id] += CAMEL;
+            }
+        }
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, (x, y) -> compare(y.score, y.id, x.score, x.id));
+        try {
+            // Symbols with every query trigram first, then abbreviations, then the rest by
+            // descending trigram hits. A group whose best possible score cannot enter the full
+            // top list ends the search
+            int[] ids = scratch.ids;
+
+            // Exact and prefix matches start with the first two query characters; when they fill
+            // the list nothing else can rank higher
+            int[] prefixed = q.length() >= 3 ? postings(trigram(START, q.charAt(0), q.charAt(1))) : EMPTY;
+            for (int id : prefixed) {
+                if (hits(counts[id]) != grams.length || (kindFilter >= 0 && kinds[id] != kindFilter)) continue;
+                offer(top, limit, id, score(id, q, queryWords, grams.length, grams.length, pairs > 0 && pairs(counts[id]) == pairs));
+                counts[id] |= PREFIXED;
+            }
+            if (top.size() == limit && CAMEL_CASE < top.peek().score) {
+                return results(top);
+            }
+
+            int full = 0;
+            for (int i = 0; i < scratch.touched; i++) {
+                int id = ids[i];
+                if (hits(counts[id]) != grams.length) continue;
+                full++;
+                if ((counts[id] & PREFIXED) != 0 || (kindFilter >= 0 && kinds[id] != kindFilter)) continue;
+                offer(top, limit, id, score(id, q, queryWords, grams.length, grams.length, pairs > 0 && pairs(counts[id]) == pairs));
+            }
+
+            int abbreviationBound = queryWords.size() >= 2 ? CAMEL_CASE : ABBREVIATION;
+            if (pairs > 0 && !(top.size() == limit && abbreviationBound < top.peek().score)) {
+                long queryLetters = letters(q);
+                for (int id : abbreviated) {
+                    if (pairs(counts[id]) != pairs || hits(counts[id]) == grams.length) continue;
+                    if ((letters[id] & queryLetters) != queryLetters) continue;
+                    if (kindFilter >= 0 && kinds[id] != kindFilter) continue;
+                    offer(top, limit, id, score(id, q, queryWords, hits(counts[id]), grams.length, true));
+                }
+            }
+
+            // Only sorted when a partial match can still enter the list
+            if (full == scratch.touched || grams.length < 2
+                    || (top.size() == limit && fuzzy(grams.length - 1, grams.length) < top.peek().score)) {
+                return results(top);
+            }
+            int[] byHits = scratch.sortByHits(grams.length);
+            for (int i = full; i < scratch.touched; i++) {
+                int id = byHits[i];
+                int hits = hits(counts[id]);
+                if (hits < required) break;
+                if (top.size() == limit && fuzzy(hits, grams.length) < top.peek().score) break;
+                if (pairs > 0 && pairs(counts[id]) == pairs) continue;
+                if (kindFilter >= 0 && kinds[id] != kindFilter) continue;
+                offer(top, limit, id, fuzzy(hits, grams.length));
+            }
+        } finally {
+            scratch.clear();
+        }
+        return results(top);
+    }
+
+    private List<SearchHit> results(PriorityQueue<Candidate> top) {
+        List<SearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            hits.add(hit(top.poll()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    // Higher score first, then shorter names, classes before members, then by name
+    private int compare(int score, int id, int otherScore, int otherId) {
+        if (score != otherScore) return Integer.compare(otherScore, score);
+        if (names[id].length() != names[otherId].length()) return Integer.compare(names[id].length(), names[otherId].length());
+        if (kinds[id] != kinds[otherId]) return Integer.compare(kinds[id], kinds[otherId]);
+        return names[id].compareTo(names[otherId]);
+    }
+
+    // Keeps the best limit candidates; the head of the queue is the worst of them
+    private void offer(PriorityQueue<Candidate> top, int limit, int id, int score) {
+        if (score <= 0) return;
+        if (top.size() == limit) {
+            Candidate worst = top.peek();
+            if (compare(score, id, worst.score, worst.id) >= 0) return;
+            top.poll();
+        }
+        top.add(new Candidate(id, score));
+    }
+
+    // One bit per character modulo 64; an abbreviation can only match a name that has all of
+    // its bits, which rejects most candidates before walking the name
+    private static long letters(String s) {
+        long mask = 0;
+        for (int i = 0; i < s.length(); i++) {
+            mask |= 1L << s.charAt(i);
+        }
+        return mask;
+    }
+
+    private static int hits(int count) {
+        return count & (CAMEL - 1);
+    }
+
+    private static int pairs(int count) {
+        return count >>> 24 & 7;
+    }
+
+    private static int fuzzy(int hits, int grams) {
+        return FUZZY + (ABBREVIATION - FUZZY - 1) * hits / grams;
+    }
+
+    private int score(int id, String q, List<String> queryWords, int hits, int grams, boolean camel) {
+        if (hits == grams) {
+            String name = lowerNames[id];
+            if (name.equals(q)) return EXACT;
+            if (name.startsWith(q)) return PREFIX;
+            if (camel && queryWords.size() >= 2 && camelMatch(queryWords, names[id])) return CAMEL_CASE;
+            if (q.length() >= 3 && name.contains(q)) return SUBSTRING;
+        } else if (camel) {
+            if (queryWords.size() >= 2 && camelMatch(queryWords, names[id])) return CAMEL_CASE;
+            if (queryWords.size() == 1 && abbreviates(q, lowerNames[id])) return ABBREVIATION;
+        }
+        if (q.length() < 3 || hits < (grams + 1) / 2) return 0;
+        return fuzzy(hits, grams);
+    }
+
+    // Every query word abbreviates a later word of the name: same first letter, the rest in
+    // order within the word. Walks the name in place, since it runs for every candidate
+    static boolean camelMatch(List<String> queryWords, String name) {
+        int start = nextWord(name, 0);
+        for (String queryWord : queryWords) {
+            int end = wordEnd(name, start);
+            while (start < name.length() && !abbreviates(queryWord, name, start, end)) {
+                start = nextWord(name, end);
+                end = wordEnd(name, start);
+            }
+            if (start >= name.length()) return false;
+            start = nextWord(name, end);
+        }
+        return true;
+    }
+
+    private static boolean abbreviates(String abbreviation, String word) {
+        return abbreviates(abbreviation, word, 0, word.length());
+    }
+
+    private static boolean abbreviates(String abbreviation, String s, int from, int to) {
+        if (from >= to || abbreviation.charAt(0) != Character.toLowerCase(s.charAt(from))) return false;
+        int j = from + 1;
+        for (int i = 1; i < abbreviation.length(); i++) {
+            while (j < to && Character.toLowerCase(s.charAt(j)) != abbreviation.charAt(i)) j++;
+            if (j++ >= to) return false;
+        }
+        return true;
+    }
+
+    private static int nextWord(String s, int i) {
+        while (i < s.length() && !Character.isLetterOrDigit(s.charAt(i))) i++;
+        return i;
+    }
+
+    private static int wordEnd(String s, int start) {
+        int i = start + 1;
+        while (i < s.length() && Character.isLetterOrDigit(s.charAt(i)) && !isWordStart(s, i, false)) i++;
+        return Math.min(i, s.length());
+    }
+
+    private SearchHit hit(Candidate candidate) {
+        SearchHit hit = new SearchHit();
+        hit.name = names[candidate.id];
+        hit.kind = KINDS[kinds[candidate.id]];
+        hit.owner = owners[candidate.id];
+        hit.detail = details[candidate.id];
+        hit.score = candidate.score;
+        return hit;
+    }
+
+    private int[] postings(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? postings[index] : EMPTY;
+    }
+
+    // Lower-cased camel-case words: aB, a1 and 1a start a new word, and so does the last capital
+    // of a run that is followed by lower case (HTTPServer -> http, server); other characters
+    // separate. In queries every capital starts a word, so UC abbreviates UserController
+    static List<String> words(String s, boolean eachCapital) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            boolean part = i < s.length() && Character.isLetterOrDigit(s.charAt(i));
+            if (start >= 0 && (!part || isWordStart(s, i, eachCapital))) {
+                words.add(s.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+            if (part && start < 0) start = i;
+        }
+        return words;
+    }
+
+    private static boolean isWordStart(String s, int i, boolean eachCapital) {
+        char prev = s.charAt(i - 1);
+        char c = s.charAt(i);
+        if (Character.isUpperCase(c)) {
+            return eachCapital || !Character.isUpperCase(prev)
+                    || (i + 1 < s.length() && Character.isLowerCase(s.charAt(i + 1)));
+        }
+        return Character.isDigit(c) != Character.isDigit(prev);
+    }
+
+    private static long trigram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static long initials(String first, String second) {
+        return INITIALS_TAG | ((long) first.charAt(0) << 16) | second.charAt(0);
+    }
+
+    private static long[] trigrams(String lower, boolean padded) {
+        String s = padded ? "" + START + START + lower : lower;
+        long[] grams = new long[Math.max(0, s.length() - 2)];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = trigram(s.charAt(i), s.charAt(i + 1), s.charAt(i + 2));
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    // Saved next to the analysis: inside a shard directory, otherwise as <name>.search
+    public static Path pathFor(Path analysis) {
+        if (Files.isDirectory(analysis)) {
+            return analysis.resolve(SHARDED_FILE_NAME);
+        }
+        String name = analysis.getFileName().toString();
+        for (String extension : new String[]{".json.gz", ".json", ".sba", ".gz"}) {
+            if (name.endsWith(extension)) {
+                name = name.substring(0, name.length() - extension.length());
+                break;
+            }
+        }
+        return analysis.resolveSibling(name + EXTENSION);
+    }
+
+    // Symbols, then the keys with their delta-encoded postings
+    public void save(Path target) throws IOException {
+        AtomicWrite.write(target, temp -> {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(fingerprint);
+                out.writeInt(names.length);
+                for (int i = 0; i < names.length; i++) {
+                    out.writeByte(kinds[i]);
+                    out.writeUTF(names[i]);
+                    writeNullable(out, owners[i]);
+                    writeNullable(out, details[i]);
+                }
+                out.writeInt(keys.length);
+                for (int k = 0; k < keys.length; k++) {
+                    out.writeLong(keys[k]);
+                    writeVarint(out, postings[k].length);
+                    int previous = 0;
+                    for (int id : postings[k]) {
+                        writeVarint(out, id - previous);
+                        previous = id;
+                    }
+                }
+            }
+        });
+    }
+
+    public static SymbolSearchIndex load(Path source) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a search index: " + source);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported search index version: " + version);
+            }
+            long fingerprint = in.readLong();
+            int count = in.readInt();
+            byte[] kinds = new byte[count];
+            String[] names = new String[count];
+            String[] owners = new String[count];
+            String[] details = new String[count];
+            for (int i = 0; i < count; i++) {
+                kinds[i] = in.readByte();
+                names[i] = in.readUTF();
+                owners[i] = readNullable(in);
+                details[i] = readNullable(in);
+            }
+            int keyCount = in.readInt();
+            long[] keys = new long[keyCount];
+            int[][] postings = new int[keyCount][];
+            for (int k = 0; k < keyCount; k++) {
+                keys[k] = in.readLong();
+                int[] ids = new int[readVarint(in)];
+                int previous = 0;
+                for (int j = 0; j < ids.length; j++) {
+                    ids[j] = previous += readVarint(in);
+                }
+                postings[k] = ids;
+            }
+            return new SymbolSearchIndex(kinds, names, owners, details, keys, postings, fingerprint);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+
+    private static <T> List<T> nonNull(List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    // Per-thread hit counters, sized to the largest index searched on the thread; only the
+    // touched entries are cleared again, so a query costs its postings rather than the index size
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static class Scratch {
+        int[] counts = EMPTY;
+        int[] ids = EMPTY;
+        int[] sorted = EMPTY;
+        int touched;
+
+        Scratch reset(int size) {
+            if (counts.length < size) {
+                counts = new int[size];
+                ids = new int[size];
+                sorted = new int[size];
+            }
+            touched = 0;
+            return this;
+        }
+
+        void touch(int id) {
+            ids[touched++] = id;
+        }
+
+        // Counting sort of the touched ids by descending hit count
+        int[] sortByHits(int maxHits) {
+            int[] starts = new int[maxHits + 2];
+            for (int i = 0; i < touched; i++) {
+                starts[maxHits - hits(counts[ids[i]]) + 1]++;
+            }
+            for (int h = 1; h < starts.length; h++) {
+                starts[h] += starts[h - 1];
+            }
+            for (int i = 0; i < touched; i++) {
+                int id = ids[i];
+                sorted[starts[maxHits - hits(counts[id])]++] = id;
+            }
+            return sorted;
+        }
+
+        void clear() {
+            for (int i = 0; i < touched; i++) {
+                counts[ids[i]] = 0;
+            }
+        }
+    }
+
+    private static class Candidate {
+        final int id;
+        final int score;
+
+        Candidate(int id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final List<String> owners = new ArrayList<>();
+        private final List<String> details = new ArrayList<>();
+        private final IntList kinds = new IntList();
+        private final Set<String> seen = new HashSet<>();
+
+        // Overloads and repeated fields are one symbol
+        void add(byte kind, String name, String owner, String detail) {
+            if (name == null || name.isEmpty()) return;
+            if (!seen.add(kind + "\u0000" + owner + "\u0000" + detail + "\u0000" + name)) return;
+            kinds.add(kind);
+            names.add(name);
+            owners.add(owner);
+            details.add(detail);
+        }
+
+        SymbolSearchIndex build() {
+            // Ids are added in ascending order, so every posting list comes out sorted
+            Map<Long, IntList> table = new HashMap<>();
+            for (int id = 0; id < names.size(); id++) {
+                String name = names.get(id);
+                for (long gram : trigrams(name.toLowerCase(Locale.ROOT), true)) {
+                    table.computeIfAbsent(gram, k -> new IntList()).addOnce(id);
+                }
+                List<String> words = words(name, false);
+                int n = Math.min(words.size(), MAX_WORDS);
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        table.computeIfAbsent(initials(words.get(i), words.get(j)), k -> new IntList()).addOnce(id);
+                    }
+                }
+            }
+
+            long[] keys = table.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            int[][] postings = new int[keys.length][];
+            for (int k = 0; k < keys.length; k++) {
+                postings[k] = table.get(keys[k]).toArray();
+            }
+
+            byte[] kindArray = new byte[kinds.size];
+            for (int i = 0; i < kinds.size; i++) {
+                kindArray[i] = (byte) kinds.values[i];
+            }
+            return new SymbolSearchIndex(kindArray, names.toArray(new String[0]), owners.toArray(new String[0]),
+                    details.toArray(new String[0]), keys, postings, fingerprint());
+        }
+
+        // FNV-1a over the symbol count and every symbol's kind, name, owner and detail
+        long fingerprint() {
+            long hash = (0xCBF29CE484222325L ^ names.size()) * FNV_PRIME;
+            for (int i = 0; i < names.size(); i++) {
+                hash = (hash ^ kinds.values[i]) * FNV_PRIME;
+                hash = hash(hash, names.get(i));
+                hash = hash(hash, owners.get(i));
+                hash = hash(hash, details.get(i));
+            }
+            return hash;
+        }
+
+        private static long hash(long hash, String value) {
+            if (value == null) return (hash ^ 0x1_0000) * FNV_PRIME;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+            // Terminator, so "ab" + "c" and "a" + "bc" differ
+            return (hash ^ 0x2_0000) * FNV_PRIME;
+        }
+    }
+
+    private static class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addOnce(int value) {
+            if (size == 0 || values[size - 1] != value) add(value);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package dev.analyzer.server;
+
+import dev.analyzer.graph.FlowGraph;
+import dev.analyzer.graph.FlowTrace;
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.routes.RouteIndex;
+import dev.analyzer.routes.RouteMatch;
+import dev.analyzer.scanner.ProjectOutput;
+import dev.analyzer.search.SearchHit;
+import dev.analyzer.search.SymbolSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+// Read-only hash indexes over an analysis, built once so every lookup is a map access
+public class ModelIndex {
+
+    private final ProjectOutput output;
+
+    private final NameIndex<ControllerInfo> controllers;
+    private final NameIndex<ServiceInfo> services;
+    private final NameIndex<RepositoryInfo> repositories;
+    private final NameIndex<EntityInfo> entities;
+
+    private final List<EndpointRef> endpoints = new ArrayList<>();
+    private final Map<String, List<EndpointRef>> endpointsByMethod = new HashMap<>();
+    private final Map<String, List<RepositoryInfo>> repositoriesByEntity = new HashMap<>();
+    private final Map<String, Object> summary = new LinkedHashMap<>();
+    private final RouteIndex routes;
+    private final FlowGraph flowGraph;
+    private final SymbolSearchIndex search;
+
+    private ModelIndex(ProjectOutput output, SymbolSearchIndex search) {
+        this.output = output;
+        this.search = search;
+        this.controllers = new NameIndex<>(nonNull(output.controllers), c -> c.className, c -> c.qualifiedName);
+        this.services = new NameIndex<>(nonNull(output.services), s -> s.className, s -> s.qualifiedName);
+        this.repositories = new NameIndex<>(nonNull(output.repositories), r -> r.interfaceName, r -> r.qualifiedName);
+        this.entities = new NameIndex<>(nonNull(output.entities), e -> e.className, e -> e.qualifiedName);
+
+        for (ControllerInfo controller : nonNull(output.controllers)) {
+            for (EndpointInfo endpoint : nonNull(controller.endpoints)) {
+                EndpointRef ref = EndpointRef.of(controller, endpoint);
+                endpoints.add(ref);
+                endpointsByMethod.computeIfAbsent(upper(ref.httpMethod), k -> new ArrayList<>()).add(ref);
+            }
+        }
+
+        for (RepositoryInfo repository : nonNull(output.repositories)) {
+            if (repository.entityType != null) {
+                repositoriesByEntity.computeIfAbsent(lower(repository.entityType), k -> new ArrayList<>()).add(repository);
+                // Resolved entity types are qualified; keep them reachable by simple name too
+                String simpleName = FlowGraph.simpleName(repository.entityType);
+                if (!simpleName.equals(repository.entityType)) {
+                    repositoriesByEntity.computeIfAbsent(lower(simpleName), k -> new ArrayList<>()).add(repository);
+                }
+            }
+        }
+
+        routes = RouteIndex.build(output.controllers);
+        flowGraph = FlowGraph.build(output.controllers, output.services, output.repositories, output.entities);
+
+        summary.put("controllers", nonNull(output.controllers).size());
+        summary.put("services", nonNull(output.services).size());
+        summary.put("repositories", nonNull(output.repositories).size());
+        summary.put("entities", nonNull(output.entities).size());
+        summary.put("endpoints", endpoints.size());
+        Map<String, Integer> byMethod = new LinkedHashMap<>();
+        endpointsByMethod.forEach((method, refs) -> byMethod.put(method, refs.size()));
+        summary.put("endpointsByMethod", byMethod);
+    }
+
+    public static ModelIndex build(ProjectOutput output) {
+        return build(output, SymbolSearchIndex.build(output));
+    }
+
+    public static ModelIndex build(ProjectOutput output, SymbolSearchIndex search) {
+        return new ModelIndex(output, search);
+    }
+
+    public ProjectOutput getOutput() {
+        return output;
+    }
+
+    public ControllerInfo findController(String name) {
+        return controllers.find(name);
+    }
+
+    public ServiceInfo findService(String name) {
+        return services.find(name);
+    }
+
+    public RepositoryInfo findRepository(String name) {
+        return repositories.find(name);
+    }
+
+    public EntityInfo findEntity(String name) {
+        return entities.find(name);
+    }
+
+    public List<RepositoryInfo> findRepositoriesForEntity(String entityType) {
+        return repositoriesByEntity.getOrDefault(lower(entityType), Collections.emptyList());
+    }
+
+    // Ranked fuzzy, prefix and camel-case search over class, method, field and endpoint names
+    public List<SearchHit> search(String query, String kind, int limit) {
+        return search.search(query, kind, limit);
+    }
+
+    // All endpoints, or only those for one HTTP method when given
+    public List<EndpointRef> getEndpoints(String httpMethod) {
+        if (httpMethod == null || httpMethod.isEmpty()) {
+            return endpoints;
+        }
+        return endpointsByMethod.getOrDefault(upper(httpMethod), Collections.emptyList());
+    }
+
+    // Which handler serves a concrete request such as GET /api/users/42/orders
+    public RouteMatch matchRoute(String httpMethod, String path) {
+        if (httpMethod == null || path == null) return null;
+        return routes.match(httpMethod, path);
+    }
+
+    public FlowTrace traceController(String controller) {
+        return controller == null ? null : flowGraph.trace(controller);
+    }
+
+    // Resolves the request to its handler first, then returns the handler's precomputed trace
+    public Map<String, Object> traceRequest(String httpMethod, String path) {
+        RouteMatch match = matchRoute(httpMethod, path);
+        if (match == null) return null;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endpoint", match.endpoint);
+        result.put("variables", match.variables);
+        result.put("trace", flowGraph.trace(match.endpoint));
+        return result;
+    }
+
+    public Map<String, Object> getSummary() {
+        return summary;
+    }
+
+    private static <T> List<T> nonNull(List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    private static String lower(String s) {
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+
+    private static String upper(String s) {
+        return s == null ? null : s.toUpperCase(Locale.ROOT);
+    }
+
+    // Exact name first, then case-insensitive; qualified names (with --resolve-types) match exactly
+    private static class NameIndex<T> {
+        private final Map<String, T> byName = new HashMap<>();
+        private final Map<String, T> byLowerName = new HashMap<>();
+
+        NameIndex(List<T> items, Function<T, String> name, Function<T, String> qualifiedName) {
+            for (T item : items) {
+                String qualified = qualifiedName.apply(item);
+                if (qualified != null) {
+                    byName.putIfAbsent(qualified, item);
+                }
+                String key = name.apply(item);
+                if (key == null) continue;
+                byName.putIfAbsent(key, item);
+                byLowerName.putIfAbsent(lower(key), item);
+            }
+        }
+
+        T find(String name) {
+            if (name == null) return null;
+            T item = byName.get(name);
+            return item != null ? item : byLowerName.get(lower(name));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dev.analyzer.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+// Lookup endpoints over an in-memory ModelIndex, served by the JDK's built-in HTTP server
+public class QueryServer {
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+    private static final int MAX_SEARCH_LIMIT = 1000;
+
+    private final ModelIndex index;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // The model includes the project's source structure and there is no authentication, so
+    // callers bind to loopback unless told otherwise
+    public QueryServer(ModelIndex index, InetAddress address, int port) throws IOException {
+        this.index = index;
+        this.server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        server.setExecutor(executor);
+
+        route("/controller", q -> index.findController(q.get("name")));
+        route("/service", q -> index.findService(q.get("name")));
+        route("/repository", q -> q.containsKey("entity")
+                ? index.findRepositoriesForEntity(q.get("entity"))
+                : index.findRepository(q.get("name")));
+        route("/entity", q -> index.findEntity(q.get("name")));
+        route("/endpoints", q -> index.getEndpoints(q.get("method")));
+        route("/route", q -> index.matchRoute(q.getOrDefault("method", "GET"), q.get("path")));
+        route("/trace", q -> q.containsKey("controller")
+                ? index.traceController(q.get("controller"))
+                : index.traceRequest(q.getOrDefault("method", "GET"), q.get("path")));
+        route("/search", q -> index.search(q.get("q"), q.get("kind"), searchLimit(q.get("limit"))));
+        route("/summary", q -> index.getSummary());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void route(String path, Function<Map<String, String>, Object> lookup) {
+        server.createContext(path, handler(lookup));
+    }
+
+    private static HttpHandler handler(Function<Map<String, String>, Object> lookup) {
+        return exchange -> {
+            try {
+                Object result = lookup.apply(parseQuery(exchange.getRequestURI().getRawQuery()));
+                if (result == null) {
+                    send(exchange, 404, "{\"error\":\"not found\"}");
+                } else {
+                    send(exchange, 200, GSON.toJson(result));
+                }
+            } catch (BadRequestException e) {
+                send(exchange, 400, GSON.toJson(Map.of("error", e.getMessage())));
+            } catch (RuntimeException e) {
+                send(exchange, 500, GSON.toJson(Map.of("error", String.valueOf(e.getMessage()))));
+            }
+        };
+    }
+
+    // Defaults to 20 and is capped, so one request cannot ask for the whole index
+    private static int searchLimit(String value) {
+        if (value == null || value.isEmpty()) return 20;
+        int limit;
+        try {
+            limit = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("limit must be a number: " + value);
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive: " + value);
+        }
+        return Math.min(limit, MAX_SEARCH_LIMIT);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) return params;
+
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static class BadRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BadRequestException(String message) {
+            super(message);
+        }
+    }
+}
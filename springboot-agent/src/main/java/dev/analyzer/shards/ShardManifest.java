@@ -0,0 +1,45 @@
+package dev.analyzer.shards;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Entry point of a sharded analysis. It only lists the shards; the name lookups live in
+// hash-bucketed index files, so opening a project reads a file whose size barely grows with it
+public class ShardManifest {
+    public static final String FILE_NAME = "manifest.json";
+    public static final int FORMAT_VERSION = 1;
+
+    public int formatVersion = FORMAT_VERSION;
+    public int indexBuckets;
+    public List<Shard> shards = new ArrayList<>();
+
+    public static class Shard {
+        public String file;
+        public String stereotype;   // controllers, services, repositories or entities
+        public String group;        // package, prefixed with the module in module-aware scans
+        public int count;
+    }
+
+    // One index bucket: names mapped to the shards that declare them
+    public static class Bucket {
+        public Map<String, List<Integer>> classes = new HashMap<>();
+        public Map<String, List<Integer>> endpoints = new HashMap<>();   // "GET /api/users/{id}"
+        public Map<String, List<Integer>> entities = new HashMap<>();    // entity class and table names
+    }
+
+    public static int bucketOf(String key, int buckets) {
+        // String.hashCode is specified, so writer and reader always agree
+        return (key.hashCode() & 0x7fffffff) % buckets;
+    }
+
+    public static String bucketFile(int bucket) {
+        return "index/" + bucket + ".json";
+    }
+
+    public static String endpointKey(String httpMethod, String path) {
+        return (httpMethod == null ? "" : httpMethod.toUpperCase(Locale.ROOT)) + " " + path;
+    }
+}
@@ -0,0 +1,173 @@
+package dev.analyzer.shards;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.FileResult;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.scanner.AtomicWrite;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class ShardWriter {
+
+    private static final Gson PRETTY_GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson COMPACT_GSON = new Gson();
+
+    // Target number of index keys per bucket
+    private static final int KEYS_PER_BUCKET = 1024;
+
+    private final Path dir;
+    private final Gson gson;
+    private final ShardManifest manifest = new ShardManifest();
+    private final Map<String, List<Integer>> classes = new HashMap<>();
+    private final Map<String, List<Integer>> endpoints = new HashMap<>();
+    private final Map<String, List<Integer>> entities = new HashMap<>();
+    private final Set<String> written = new HashSet<>();
+
+    private ShardWriter(Path dir, boolean compact) {
+        this.dir = dir.toAbsolutePath();
+        this.gson = compact ? COMPACT_GSON : PRETTY_GSON;
+    }
+
+    // groups: per-package (or per-module) results, written as one shard per group and stereotype
+    public static ShardManifest write(Map<String, FileResult> groups, Path dir, boolean compact) throws IOException {
+        ShardWriter writer = new ShardWriter(dir, compact);
+        for (Map.Entry<String, FileResult> group : groups.entrySet()) {
+            writer.writeGroup(group.getKey(), group.getValue());
+        }
+        writer.writeIndex();
+        writer.writeJson(ShardManifest.FILE_NAME, writer.manifest);
+        writer.deleteStale();
+
+        System.out.println("Saved " + writer.manifest.shards.size() + " shards to: " + writer.dir);
+        return writer.manifest;
+    }
+
+    private void writeGroup(String group, FileResult result) throws IOException {
+        if (!result.controllers.isEmpty()) {
+            int shard = addShard(group, "controllers", result.controllers);
+            for (ControllerInfo c : result.controllers) {
+                addKey(classes, c.className, shard);
+                for (EndpointInfo e : c.endpoints) {
+                    addKey(endpoints, ShardManifest.endpointKey(e.httpMethod,
+                            EndpointRef.joinPath(c.basePath, e.path)), shard);
+                }
+            }
+        }
+        if (!result.services.isEmpty()) {
+            int shard = addShard(group, "services", result.services);
+            for (ServiceInfo s : result.services) {
+                addKey(classes, s.className, shard);
+            }
+        }
+        if (!result.repositories.isEmpty()) {
+            int shard = addShard(group, "repositories", result.repositories);
+            for (RepositoryInfo r : result.repositories) {
+                addKey(classes, r.interfaceName, shard);
+            }
+        }
+        if (!result.entities.isEmpty()) {
+            int shard = addShard(group, "entities", result.entities);
+            for (EntityInfo e : result.entities) {
+                addKey(classes, e.className, shard);
+                addKey(entities, e.className, shard);
+                if (e.tableName != null && !e.tableName.equals(e.className)) {
+                    addKey(entities, e.tableName, shard);
+                }
+            }
+        }
+    }
+
+    private int addShard(String group, String stereotype, List<?> models) throws IOException {
+        ShardManifest.Shard shard = new ShardManifest.Shard();
+        shard.group = group;
+        shard.stereotype = stereotype;
+        shard.count = models.size();
+        shard.file = uniqueFile("shards/" + stereotype + "-" + safeName(group), ".json");
+        writeJson(shard.file, models);
+
+        manifest.shards.add(shard);
+        return manifest.shards.size() - 1;
+    }
+
+    private static void addKey(Map<String, List<Integer>> map, String key, int shard) {
+        if (key == null) return;
+        List<Integer> shards = map.computeIfAbsent(key, k -> new ArrayList<>(1));
+        if (!shards.contains(shard)) {
+            shards.add(shard);
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        int keys = classes.size() + endpoints.size() + entities.size();
+        int buckets = Math.max(1, (keys + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+        ShardManifest.Bucket[] contents = new ShardManifest.Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            contents[i] = new ShardManifest.Bucket();
+        }
+
+        classes.forEach((key, shards) -> contents[ShardManifest.bucketOf(key, buckets)].classes.put(key, shards));
+        endpoints.forEach((key, shards) -> contents[ShardManifest.bucketOf(key, buckets)].endpoints.put(key, shards));
+        entities.forEach((key, shards) -> contents[ShardManifest.bucketOf(key, buckets)].entities.put(key, shards));
+
+        for (int i = 0; i < buckets; i++) {
+            writeJson(ShardManifest.bucketFile(i), contents[i]);
+        }
+        manifest.indexBuckets = buckets;
+    }
+
+    private void writeJson(String file, Object value) throws IOException {
+        written.add(file);
+        AtomicWrite.write(dir.resolve(file), temp -> {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(value, writer);
+            }
+        });
+    }
+
+    // Shards and buckets left over from an earlier, larger analysis
+    private void deleteStale() throws IOException {
+        for (String sub : new String[]{"shards", "index"}) {
+            Path subDir = dir.resolve(sub);
+            if (!Files.isDirectory(subDir)) continue;
+            List<Path> stale = new ArrayList<>();
+            try (Stream<Path> files = Files.list(subDir)) {
+                files.filter(f -> f.getFileName().toString().endsWith(".json"))
+                        .filter(f -> !written.contains(sub + "/" + f.getFileName()))
+                        .forEach(stale::add);
+            }
+            for (Path file : stale) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private String uniqueFile(String base, String extension) {
+        String file = base + extension;
+        for (int i = 2; written.contains(file); i++) {
+            file = base + "-" + i + extension;
+        }
+        return file;
+    }
+
+    private static String safeName(String group) {
+        String name = group.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() ? "_" : name;
+    }
+}
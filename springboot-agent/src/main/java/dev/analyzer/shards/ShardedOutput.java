@@ -0,0 +1,181 @@
+package dev.analyzer.shards;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import dev.analyzer.models.ControllerInfo;
+import dev.analyzer.models.EndpointInfo;
+import dev.analyzer.models.EndpointRef;
+import dev.analyzer.models.EntityInfo;
+import dev.analyzer.models.RepositoryInfo;
+import dev.analyzer.models.ServiceInfo;
+import dev.analyzer.scanner.ProjectOutput;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Lazy reader for a sharded analysis: opening reads only the manifest, and index buckets and
+// shards are loaded on first use and kept in a small LRU cache
+public class ShardedOutput {
+
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final Gson GSON = new Gson();
+    private static final Map<String, Type> SHARD_TYPES = Map.of(
+            "controllers", new TypeToken<List<ControllerInfo>>() {}.getType(),
+            "services", new TypeToken<List<ServiceInfo>>() {}.getType(),
+            "repositories", new TypeToken<List<RepositoryInfo>>() {}.getType(),
+            "entities", new TypeToken<List<EntityInfo>>() {}.getType());
+
+    private final Path dir;
+    private final ShardManifest manifest;
+    private final Map<String, Object> cache;
+    private int loads;
+
+    private ShardedOutput(Path dir, ShardManifest manifest, int cacheSize) {
+        this.dir = dir;
+        this.manifest = manifest;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public static boolean isSharded(Path dir) {
+        return Files.isRegularFile(dir.resolve(ShardManifest.FILE_NAME));
+    }
+
+    public static ShardedOutput open(Path dir) throws IOException {
+        return open(dir, DEFAULT_CACHE_SIZE);
+    }
+
+    public static ShardedOutput open(Path dir, int cacheSize) throws IOException {
+        ShardManifest manifest = readJson(dir.resolve(ShardManifest.FILE_NAME), ShardManifest.class);
+        if (manifest == null || manifest.formatVersion != ShardManifest.FORMAT_VERSION) {
+            throw new IOException("Unsupported shard manifest in " + dir);
+        }
+        return new ShardedOutput(dir, manifest, Math.max(1, cacheSize));
+    }
+
+    public ShardManifest getManifest() {
+        return manifest;
+    }
+
+    public ControllerInfo findController(String className) {
+        return find(bucket(className).classes.get(className), "controllers", (ControllerInfo c) -> c.className, className);
+    }
+
+    public ServiceInfo findService(String className) {
+        return find(bucket(className).classes.get(className), "services", (ServiceInfo s) -> s.className, className);
+    }
+
+    public RepositoryInfo findRepository(String interfaceName) {
+        return find(bucket(interfaceName).classes.get(interfaceName), "repositories",
+                (RepositoryInfo r) -> r.interfaceName, interfaceName);
+    }
+
+    // Accepts the entity class name or its table name
+    public EntityInfo findEntity(String name) {
+        List<Integer> shards = bucket(name).entities.get(name);
+        EntityInfo entity = find(shards, "entities", (EntityInfo e) -> e.className, name);
+        return entity != null ? entity : find(shards, "entities", (EntityInfo e) -> e.tableName, name);
+    }
+
+    // Exact endpoint template lookup, e.g. ("GET", "/api/users/{id}")
+    public ControllerInfo findEndpointController(String httpMethod, String path) {
+        String key = ShardManifest.endpointKey(httpMethod, path);
+        List<Integer> shards = bucket(key).endpoints.get(key);
+        if (shards == null || shards.isEmpty()) return null;
+        List<ControllerInfo> controllers = loadShard(shards.get(0));
+        for (ControllerInfo controller : controllers) {
+            // The index only records the shard; pick the controller that declares the endpoint
+            for (EndpointInfo endpoint : controller.endpoints) {
+                String full = EndpointRef.joinPath(controller.basePath, endpoint.path);
+                if (ShardManifest.endpointKey(endpoint.httpMethod, full).equals(key)) {
+                    return controller;
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> loadShard(int index) {
+        ShardManifest.Shard shard = manifest.shards.get(index);
+        return (List<T>) load(shard.file, SHARD_TYPES.get(shard.stereotype));
+    }
+
+    // Loads every shard; for consumers that need the whole model anyway
+    public ProjectOutput toProjectOutput() {
+        ProjectOutput output = new ProjectOutput(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < manifest.shards.size(); i++) {
+            switch (manifest.shards.get(i).stereotype) {
+                case "controllers": output.controllers.addAll(this.<ControllerInfo>loadShard(i)); break;
+                case "services": output.services.addAll(this.<ServiceInfo>loadShard(i)); break;
+                case "repositories": output.repositories.addAll(this.<RepositoryInfo>loadShard(i)); break;
+                case "entities": output.entities.addAll(this.<EntityInfo>loadShard(i)); break;
+                default: break;
+            }
+        }
+        return output;
+    }
+
+    // Number of files read from disk so far, including reloads after eviction
+    public synchronized int getLoads() {
+        return loads;
+    }
+
+    private <T> T find(List<Integer> shards, String stereotype, Function<T, String> name, String value) {
+        if (shards == null) return null;
+        for (int index : shards) {
+            if (!manifest.shards.get(index).stereotype.equals(stereotype)) continue;
+            List<T> models = loadShard(index);
+            for (T model : models) {
+                if (value.equals(name.apply(model))) {
+                    return model;
+                }
+            }
+        }
+        return null;
+    }
+
+    private synchronized ShardManifest.Bucket bucket(String key) {
+        String file = ShardManifest.bucketFile(ShardManifest.bucketOf(key, manifest.indexBuckets));
+        return (ShardManifest.Bucket) load(file, ShardManifest.Bucket.class);
+    }
+
+    private Object load(String file, Type type) {
+        Object value = cache.get(file);
+        if (value == null) {
+            try {
+                value = readJson(dir.resolve(file), type);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read shard " + file, e);
+            }
+            if (value == null) {
+                value = type == ShardManifest.Bucket.class ? new ShardManifest.Bucket() : Collections.emptyList();
+            }
+            loads++;
+            cache.put(file, value);
+        }
+        return value;
+    }
+
+    private static <T> T readJson(Path file, Type type) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, type);
+        }
+    }
+}
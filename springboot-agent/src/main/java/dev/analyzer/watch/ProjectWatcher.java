@@ -0,0 +1,148 @@
+package dev.analyzer.watch;
+
+import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.SourceWalker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class ProjectWatcher implements AutoCloseable {
+
+    // Events arriving closer together than this are coalesced into one update
+    private static final long DEBOUNCE_MILLIS = 25;
+
+    private final ProjectScanner scanner;
+    private final String outputPath;
+    private final WatchService watchService;
+    private final SourceWalker walker;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    // Registered directories by path; their keys may already be gone when the delete event for
+    // the directory itself arrives
+    private final Set<Path> registered = ConcurrentHashMap.newKeySet();
+
+    public ProjectWatcher(ProjectScanner scanner, String outputPath) throws IOException {
+        this.scanner = scanner;
+        this.outputPath = outputPath;
+        this.walker = scanner.getWalker();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        registerAll(scanner.getRoot(), null);
+    }
+
+    public void run() throws IOException, InterruptedException {
+        System.out.println("Watching " + scanner.getRoot() + " for changes (Ctrl+C to stop)");
+
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+
+                // Keep draining until the burst goes quiet
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+
+                if (changed.isEmpty()) continue;
+
+                // A failed batch, such as an unwritable output, is reported and the next one retries
+                long start = System.nanoTime();
+                try {
+                    scanner.update(changed);
+                    scanner.save(outputPath);
+                } catch (IOException | UncheckedIOException e) {
+                    System.err.println("Update failed, still watching: " + e);
+                    continue;
+                }
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                System.out.println("Updated " + changed.size() + " file(s) in " + elapsed + " ms");
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed from another thread, stop watching
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) throws IOException {
+        Path dir = directories.get(key);
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, fall back to re-checking everything under the watched directory
+                if (dir != null) {
+                    addJavaFiles(dir, changed);
+                }
+                continue;
+            }
+            if (dir == null) continue;
+
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                // New packages need their own registration, and may already contain files
+                registerAll(path, changed);
+            } else if (path.toString().endsWith(".java")) {
+                changed.add(path);
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && registered.remove(path)) {
+                // A package deleted or moved out: its files get no events of their own
+                registered.removeIf(p -> p.startsWith(path));
+                changed.add(path);
+            }
+        }
+
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    // Only directories the scan would walk are watched: .git, build output, node_modules and
+    // ignored trees would use up watches and trigger updates that change nothing
+    private void registerAll(Path start, Set<Path> changed) throws IOException {
+        if (!walker.includesDirectory(start)) return;
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(start) && !walker.includesDirectory(dir)) return FileVisitResult.SKIP_SUBTREE;
+                WatchKey key = dir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, dir);
+                registered.add(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (changed != null && file.toString().endsWith(".java")) {
+                    changed.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // The directory itself first, so files deleted while events were lost are dropped as well
+    private void addJavaFiles(Path dir, Set<Path> changed) {
+        changed.add(dir);
+        changed.addAll(walker.walk(dir, false, null));
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
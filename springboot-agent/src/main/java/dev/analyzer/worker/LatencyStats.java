@@ -0,0 +1,42 @@
+package dev.analyzer.worker;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Job latencies of a worker: counts since start, percentiles over the most recent jobs
+class LatencyStats {
+
+    private static final int WINDOW = 1024;
+
+    private final long[] recent = new long[WINDOW];
+    private long jobs;
+    private long failed;
+    private long max;
+
+    synchronized void record(long millis, boolean ok) {
+        recent[(int) (jobs % WINDOW)] = millis;
+        jobs++;
+        if (!ok) failed++;
+        max = Math.max(max, millis);
+    }
+
+    synchronized Map<String, Object> snapshot(int running) {
+        long[] window = Arrays.copyOf(recent, (int) Math.min(jobs, WINDOW));
+        Arrays.sort(window);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("jobs", jobs);
+        stats.put("failed", failed);
+        stats.put("running", running);
+        stats.put("p50Millis", percentile(window, 50));
+        stats.put("p90Millis", percentile(window, 90));
+        stats.put("p99Millis", percentile(window, 99));
+        stats.put("maxMillis", max);
+        return stats;
+    }
+
+    private static long percentile(long[] sorted, int p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p / 100.0 * sorted.length) - 1)];
+    }
+}
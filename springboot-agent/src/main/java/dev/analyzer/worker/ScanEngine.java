@@ -0,0 +1,61 @@
+package dev.analyzer.worker;
+
+import dev.analyzer.scanner.ProjectOutput;
+import dev.analyzer.scanner.ProjectScanner;
+import dev.analyzer.scanner.ScanOptions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Thread-safe front end to ProjectScanner for long-running processes. Every call gets its own
+// scanner, which is dropped once the job is done, while the parse pool and its per-thread parsers
+// are shared by all calls and stay warm between them
+public class ScanEngine implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+
+    public ScanEngine(int threads) {
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+    }
+
+    public int getThreads() {
+        return pool.getParallelism();
+    }
+
+    // Saves to output when given; otherwise the analysis is returned in the result
+    public ScanResult scan(Path project, String output, ScanOptions options, long queueMillis) throws Exception {
+        if (!Files.exists(project)) {
+            throw new IOException("project path does not exist: " + project);
+        }
+        long start = System.nanoTime();
+        ProjectScanner scanner = new ProjectScanner(options, pool);
+        scanner.scan(project);
+        long scanned = System.nanoTime();
+
+        ProjectOutput analysis = scanner.getOutput();
+        if (output != null) {
+            scanner.save(output);
+        }
+        long saved = System.nanoTime();
+
+        return new ScanResult(project.toString(), output, scanner.getFileCount(), analysis, queueMillis,
+                (scanned - start) / 1_000_000, (saved - scanned) / 1_000_000,
+                output == null ? snapshot(analysis) : null);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static ProjectOutput snapshot(ProjectOutput output) {
+        ProjectOutput copy = new ProjectOutput(List.copyOf(output.controllers), List.copyOf(output.services),
+                List.copyOf(output.repositories), List.copyOf(output.entities));
+        copy.modules = output.modules != null ? List.copyOf(output.modules) : null;
+        copy.quarantined = output.quarantined != null ? List.copyOf(output.quarantined) : null;
+        return copy;
+    }
+}
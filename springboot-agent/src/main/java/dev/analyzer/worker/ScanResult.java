@@ -0,0 +1,38 @@
+package dev.analyzer.worker;
+
+import dev.analyzer.scanner.ProjectOutput;
+
+// Outcome of one worker job. Built once when the job finishes and never modified afterwards, so
+// it can be handed to any thread
+public final class ScanResult {
+    public final String project;
+    public final String output;             // null when the analysis is returned inline
+    public final int files;
+    public final int controllers;
+    public final int services;
+    public final int repositories;
+    public final int entities;
+    public final int quarantined;
+    public final long queueMillis;          // waiting for a free job slot
+    public final long scanMillis;
+    public final long saveMillis;
+    public final long totalMillis;
+    public final ProjectOutput analysis;    // only when no output path was given
+
+    ScanResult(String project, String output, int files, ProjectOutput summary, long queueMillis,
+               long scanMillis, long saveMillis, ProjectOutput analysis) {
+        this.project = project;
+        this.output = output;
+        this.files = files;
+        this.controllers = summary.controllers.size();
+        this.services = summary.services.size();
+        this.repositories = summary.repositories.size();
+        this.entities = summary.entities.size();
+        this.quarantined = summary.quarantined != null ? summary.quarantined.size() : 0;
+        this.queueMillis = queueMillis;
+        this.scanMillis = scanMillis;
+        this.saveMillis = saveMillis;
+        this.totalMillis = queueMillis + scanMillis + saveMillis;
+        this.analysis = analysis;
+    }
+}
@@ -0,0 +1,269 @@
+package dev.analyzer.worker;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import dev.analyzer.scanner.ScanOptions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resident analyzer process, so jobs don't pay JVM startup and JIT warm-up each time. Requests are
+// JSON-RPC 2.0 objects, one per line, read from stdin or from connections on a loopback port:
+//   {"jsonrpc":"2.0","id":1,"method":"scan","params":{"project":"/src/app","output":"/out/app.json","options":{"resolveTypes":true}}}
+// scan runs the job and answers with its ScanResult (the analysis itself when there is no output
+// path), stats returns job counts and latency percentiles, shutdown stops after the running jobs.
+// Jobs run concurrently, so responses come back in completion order and are matched by id.
+// Requests without an id are notifications and get no response, not even an error.
+public class WorkerServer {
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    private static final int PARSE_ERROR = -32700;
+    private static final int INVALID_REQUEST = -32600;
+    private static final int METHOD_NOT_FOUND = -32601;
+    private static final int INVALID_PARAMS = -32602;
+    private static final int SCAN_FAILED = -32000;
+
+    private final ScanEngine engine;
+    private final JsonObject defaults;     // command line options; a request's options override them
+    private final ExecutorService jobs;
+    private final int parallelJobs;
+    private final LatencyStats stats = new LatencyStats();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile boolean stopping;
+    private ServerSocket serverSocket;
+
+    // One client: responses go out a whole line at a time, and the scans it submitted are
+    // counted so it is not closed before their responses are written
+    private static class Connection {
+        final Writer writer;
+        final Phaser pending = new Phaser(1);
+
+        Connection(OutputStream out) {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+    }
+
+    public WorkerServer(ScanOptions defaults, int parallelJobs) {
+        this.engine = new ScanEngine(defaults.effectiveThreads());
+        this.defaults = GSON.toJsonTree(defaults).getAsJsonObject();
+        this.parallelJobs = Math.max(1, parallelJobs);
+        this.jobs = Executors.newFixedThreadPool(this.parallelJobs);
+    }
+
+    // Until stdin is closed or a shutdown request arrives. Whatever the scanner prints goes to
+    // stderr, so stdout carries nothing but responses
+    public void serveStdio() throws IOException, InterruptedException {
+        PrintStream protocol = System.out;
+        System.setOut(System.err);
+        System.err.println("Worker ready on stdin/stdout (" + engine.getThreads() + " parse threads, "
+                + parallelJobs + " concurrent jobs)");
+        handle(System.in, protocol);
+        stop();
+    }
+
+    // Accepts any number of local connections until a shutdown request arrives
+    public void serveSocket(int port) throws IOException, InterruptedException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        System.out.println("Worker listening on " + serverSocket.getLocalSocketAddress() + " ("
+                + engine.getThreads() + " parse threads, " + parallelJobs + " concurrent jobs)");
+        while (!stopping) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (stopping) break;
+                throw e;
+            }
+            Thread connection = new Thread(() -> {
+                try (socket) {
+                    handle(socket.getInputStream(), socket.getOutputStream());
+                } catch (IOException e) {
+                    System.err.println("Worker connection closed: " + e.getMessage());
+                }
+            }, "worker-connection");
+            connection.setDaemon(true);
+            connection.start();
+        }
+        stop();
+    }
+
+    // Returns once the input ends or shutdown is requested and every scan submitted here has answered
+    private void handle(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Connection connection = new Connection(out);
+        try {
+            String line;
+            while (!stopping && (line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                dispatch(line, connection);
+            }
+        } finally {
+            connection.pending.arriveAndAwaitAdvance();
+        }
+    }
+
+    private void dispatch(String line, Connection connection) {
+        JsonObject request;
+        try {
+            JsonElement parsed = JsonParser.parseString(line);
+            if (!parsed.isJsonObject()) {
+                reply(connection, error(null, INVALID_REQUEST, "request must be a JSON object"));
+                return;
+            }
+            request = parsed.getAsJsonObject();
+        } catch (JsonParseException e) {
+            reply(connection, error(null, PARSE_ERROR, "invalid JSON: " + e.getMessage()));
+            return;
+        }
+
+        JsonElement id = request.get("id");
+        Connection replyTo = request.has("id") ? connection : null;
+        try {
+            call(id, request, replyTo);
+        } catch (RuntimeException e) {
+            // Members of the wrong JSON type
+            reply(replyTo, error(id, INVALID_REQUEST, "malformed request: " + e.getMessage()));
+        }
+    }
+
+    // replyTo is null for notifications
+    private void call(JsonElement id, JsonObject request, Connection replyTo) {
+        String method = request.has("method") ? request.get("method").getAsString() : "";
+        JsonObject params = request.has("params") && request.get("params").isJsonObject()
+                ? request.getAsJsonObject("params") : new JsonObject();
+        switch (method) {
+            case "scan":
+                submitScan(id, params, replyTo);
+                break;
+            case "stats":
+                reply(replyTo, result(id, stats.snapshot(running.get())));
+                break;
+            case "shutdown":
+                stopping = true;
+                reply(replyTo, result(id, stats.snapshot(running.get())));
+                closeServerSocket();
+                break;
+            default:
+                reply(replyTo, error(id, METHOD_NOT_FOUND, "unknown method: " + method));
+        }
+    }
+
+    private void submitScan(JsonElement id, JsonObject params, Connection replyTo) {
+        if (!params.has("project")) {
+            reply(replyTo, error(id, INVALID_PARAMS, "params.project is required"));
+            return;
+        }
+        Path project = Path.of(params.get("project").getAsString());
+        String output = params.has("output") ? params.get("output").getAsString() : null;
+        ScanOptions options;
+        try {
+            options = options(params.getAsJsonObject("options"));
+        } catch (RuntimeException e) {
+            reply(replyTo, error(id, INVALID_PARAMS, "invalid options: " + e.getMessage()));
+            return;
+        }
+
+        long submitted = System.nanoTime();
+        if (replyTo != null) replyTo.pending.register();
+        try {
+            jobs.execute(() -> {
+                running.incrementAndGet();
+                long queueMillis = (System.nanoTime() - submitted) / 1_000_000;
+                try {
+                    ScanResult scan = engine.scan(project, output, options, queueMillis);
+                    stats.record(scan.totalMillis, true);
+                    reply(replyTo, result(id, scan));
+                } catch (Exception e) {
+                    stats.record((System.nanoTime() - submitted) / 1_000_000, false);
+                    reply(replyTo, error(id, SCAN_FAILED, e.getMessage() != null ? e.getMessage() : e.toString()));
+                } finally {
+                    running.decrementAndGet();
+                    if (replyTo != null) replyTo.pending.arriveAndDeregister();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (replyTo != null) replyTo.pending.arriveAndDeregister();
+            reply(replyTo, error(id, SCAN_FAILED, "worker is shutting down"));
+        }
+    }
+
+    // Request options are merged field by field over the command line options
+    private ScanOptions options(JsonObject overrides) {
+        JsonObject merged = defaults.deepCopy();
+        if (overrides != null) {
+            overrides.entrySet().forEach(e -> merged.add(e.getKey(), e.getValue()));
+        }
+        return GSON.fromJson(merged, ScanOptions.class);
+    }
+
+    private void stop() throws InterruptedException {
+        stopping = true;
+        jobs.shutdown();
+        jobs.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        engine.close();
+        System.err.println("Worker stopped: " + GSON.toJson(stats.snapshot(0)));
+    }
+
+    private void closeServerSocket() {
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+
+    private static String result(JsonElement id, Object result) {
+        return response(id, "result", GSON.toJson(result));
+    }
+
+    private static String error(JsonElement id, int code, String message) {
+        return response(id, "error", GSON.toJson(Map.of("code", code, "message", message)));
+    }
+
+    // Written by hand because Gson leaves out null members, and the id must be there even when
+    // it is null (requests that could not be read)
+    private static String response(JsonElement id, String member, String json) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":" + (id != null ? GSON.toJson(id) : "null")
+                + ",\"" + member + "\":" + json + "}";
+    }
+
+    // Responses from concurrent jobs share the connection, one whole line at a time
+    private static void reply(Connection connection, String json) {
+        if (connection == null) return;
+        Writer writer = connection.writer;
+        synchronized (writer) {
+            try {
+                writer.write(json);
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                System.err.println("Could not send response: " + e.getMessage());
+            }
+        }
+    }
+}